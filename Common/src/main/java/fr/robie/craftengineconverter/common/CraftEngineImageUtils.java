@@ -3,21 +3,45 @@ package fr.robie.craftengineconverter.common;
 import net.momirealms.craftengine.bukkit.api.CraftEngineImages;
 import net.momirealms.craftengine.core.font.BitmapImage;
 import net.momirealms.craftengine.core.util.Key;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Registry of the glyphs converted to CraftEngine images, used to resolve glyph tags.
+ * <p>
+ * The registry is an immutable snapshot swapped as a whole: conversions fill a {@link Registration} on their own
+ * and {@link Registration#publish() publish} it once complete, so tag processing never sees a half converted
+ * source and never takes a lock. Each source (e.g. the Nexo emojis) replaces its previous glyphs when it publishes,
+ * glyphs removed from the source disappear from the registry.
+ */
 public class CraftEngineImageUtils {
-    private static final Map<String, ImageConversion> imageNamesConversion = new HashMap<>();
+    private static volatile Registry registry = Registry.EMPTY;
+    private static final List<Runnable> changeListeners = new CopyOnWriteArrayList<>();
 
     /**
-     * Register an image name conversion from original to converted (with namespace)
-     * @param originalName The original name (e.g., "custom_sword")
-     * @param imageConversion The converted name with namespace (e.g., "nexo:custom_sword")
+     * Starts collecting the glyphs of a source. Nothing is visible until {@link Registration#publish()} is called.
+     *
+     * @param source   Identifies the source, e.g. "Nexo:emojis"
+     * @param priority When two sources register the same glyph name, the source with the highest priority wins,
+     *                 whatever order the sources were converted in. Between equal priorities, the source whose
+     *                 name sorts last wins.
      */
-    public static void register(String originalName, ImageConversion imageConversion) {
-        imageNamesConversion.put(originalName, imageConversion);
+    public static Registration newRegistration(String source, int priority) {
+        return new Registration(source, priority);
+    }
+
+    /**
+     * Runs {@code listener} every time a new snapshot is published, e.g. to drop anything derived from the glyphs.
+     * Listeners are called with the registry lock held and must return quickly.
+     */
+    public static void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
     }
 
     /**
@@ -26,7 +50,7 @@ public class CraftEngineImageUtils {
      * @return The converted name with namespace, or null if not registered
      */
     public static ImageConversion getConverted(String originalName) {
-        return imageNamesConversion.get(originalName);
+        return registry.conversions().get(originalName);
     }
 
     /**
@@ -35,17 +59,174 @@ public class CraftEngineImageUtils {
      * @return true if the name has been registered
      */
     public static boolean isRegistered(String originalName) {
-        return imageNamesConversion.containsKey(originalName);
+        return registry.conversions().containsKey(originalName);
+    }
+
+    /**
+     * Registers the glyphs stored by {@link #saveIndex(Path)} and renders them.
+     *
+     * @return the number of glyphs loaded
+     * @throws IOException if the index cannot be read
+     */
+    public static int loadIndex(Path file) throws IOException {
+        Map<String, Source> sources = GlyphIndex.read(file);
+        synchronized (CraftEngineImageUtils.class) {
+            Registry current = registry;
+            Map<String, Source> merged = new HashMap<>(sources);
+            // Sources converted while the index was read are more recent
+            merged.putAll(current.sources());
+            swap(Registry.build(merged, current, true));
+        }
+        return sources.values().stream().mapToInt(source -> source.glyphs().size()).sum();
+    }
+
+    /**
+     * Stores every registered glyph, to be loaded back by {@link #loadIndex(Path)} on the next start.
+     *
+     * @throws IOException if the index cannot be written
+     */
+    public static synchronized void saveIndex(Path file) throws IOException {
+        GlyphIndex.write(file, registry.sources());
     }
 
     public static Optional<String> convert(String originalName) {
-        if (isRegistered(originalName)){
-            ImageConversion imageConversion = getConverted(originalName);
-            BitmapImage bitmapImage = CraftEngineImages.byId(Key.of(imageConversion.convertedName()));
-            if (bitmapImage != null){
-                return Optional.of(bitmapImage.miniMessageAt(imageConversion.row(), imageConversion.column()));
+        RenderedGlyph glyph = render(originalName);
+        return glyph != null ? Optional.of(glyph.miniMessage()) : Optional.empty();
+    }
+
+    /**
+     * Same as {@link #convert(String)}, as a component that can be inserted in a component tree.
+     */
+    public static Optional<Component> convertToComponent(String originalName) {
+        RenderedGlyph glyph = render(originalName);
+        return glyph != null ? Optional.of(glyph.component()) : Optional.empty();
+    }
+
+    private static RenderedGlyph render(String originalName) {
+        Registry current = registry;
+        RenderedGlyph glyph = current.rendered().get(originalName);
+        if (glyph != null) {
+            return glyph;
+        }
+        // Loaded by CraftEngine since the last rebuild. Not stored, the table is only changed by a rebuild
+        ImageConversion imageConversion = current.conversions().get(originalName);
+        return imageConversion != null ? renderGlyph(imageConversion) : null;
+    }
+
+    /**
+     * Renders every registered glyph again and publishes the new table.
+     * Must be called whenever CraftEngine reloads its images.
+     * Glyphs CraftEngine does not know yet are left out and keep being looked up until the next rebuild.
+     */
+    public static synchronized void rebuildRenderTable() {
+        Registry current = registry;
+        swap(Registry.build(current.sources(), current, false));
+    }
+
+    private static synchronized void publish(String name, Source source) {
+        Registry current = registry;
+        Map<String, Source> sources = new HashMap<>(current.sources());
+        sources.put(name, source);
+        swap(Registry.build(sources, current, true));
+    }
+
+    private static void swap(Registry next) {
+        registry = next;
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+
+    private static RenderedGlyph renderGlyph(ImageConversion imageConversion) {
+        BitmapImage bitmapImage = CraftEngineImages.byId(Key.of(imageConversion.convertedName()));
+        if (bitmapImage == null) {
+            return null;
+        }
+        String miniMessage = bitmapImage.miniMessageAt(imageConversion.row(), imageConversion.column());
+        return new RenderedGlyph(miniMessage, MiniMessage.miniMessage().deserialize(miniMessage));
+    }
+
+    /**
+     * Glyphs of one source, collected during a conversion. Safe to fill from several threads.
+     */
+    public static final class Registration {
+        private final String source;
+        private final int priority;
+        private final Map<String, ImageConversion> glyphs = new ConcurrentHashMap<>();
+
+        private Registration(String source, int priority) {
+            this.source = source;
+            this.priority = priority;
+        }
+
+        /**
+         * Register an image name conversion from original to converted (with namespace)
+         * @param originalName The original name (e.g., "custom_sword")
+         * @param imageConversion The converted name with namespace (e.g., "nexo:custom_sword")
+         */
+        public void register(String originalName, ImageConversion imageConversion) {
+            this.glyphs.put(originalName, imageConversion);
+        }
+
+        /**
+         * Replaces the glyphs previously published by this source with the registered ones, in a single swap.
+         */
+        public void publish() {
+            CraftEngineImageUtils.publish(this.source, new Source(this.priority, Map.copyOf(this.glyphs)));
+        }
+    }
+
+    /**
+     * The glyphs published by a source.
+     *
+     * @param priority see {@link #newRegistration(String, int)}
+     */
+    record Source(int priority, Map<String, ImageConversion> glyphs) {
+    }
+
+    /**
+     * @param sources    glyphs of each source, by source name
+     * @param conversions union of the sources, resolved by priority
+     * @param rendered   final rendering of the conversions CraftEngine knows about
+     */
+    private record Registry(Map<String, Source> sources,
+                            Map<String, ImageConversion> conversions,
+                            Map<String, RenderedGlyph> rendered) {
+        static final Registry EMPTY = new Registry(Map.of(), Map.of(), Map.of());
+
+        // Lowest priority first, so that higher priorities overwrite it
+        private static final Comparator<Map.Entry<String, Source>> PRECEDENCE =
+                Comparator.<Map.Entry<String, Source>>comparingInt(entry -> entry.getValue().priority())
+                        .thenComparing(Map.Entry::getKey);
+
+        /**
+         * @param reuseRenders true to keep the rendering of the glyphs whose conversion did not change
+         */
+        static Registry build(Map<String, Source> sources, Registry previous, boolean reuseRenders) {
+            List<Map.Entry<String, Source>> ordered = new ArrayList<>(sources.entrySet());
+            ordered.sort(PRECEDENCE);
+            Map<String, ImageConversion> conversions = new HashMap<>();
+            for (Map.Entry<String, Source> source : ordered) {
+                conversions.putAll(source.getValue().glyphs());
             }
+
+            Map<String, RenderedGlyph> rendered = new HashMap<>();
+            for (Map.Entry<String, ImageConversion> entry : conversions.entrySet()) {
+                RenderedGlyph glyph = null;
+                if (reuseRenders && entry.getValue().equals(previous.conversions().get(entry.getKey()))) {
+                    glyph = previous.rendered().get(entry.getKey());
+                }
+                if (glyph == null) {
+                    glyph = renderGlyph(entry.getValue());
+                }
+                if (glyph != null) {
+                    rendered.put(entry.getKey(), glyph);
+                }
+            }
+            return new Registry(Map.copyOf(sources), Map.copyOf(conversions), Map.copyOf(rendered));
         }
-        return Optional.empty();
+    }
+
+    private record RenderedGlyph(String miniMessage, Component component) {
     }
 }
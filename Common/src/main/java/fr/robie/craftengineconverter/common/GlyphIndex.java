@@ -0,0 +1,90 @@
+package fr.robie.craftengineconverter.common;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact binary file storing the glyph registry of {@link CraftEngineImageUtils}, source by source, so that glyph tags can be
+ * resolved right after a restart without converting again.
+ * <p>
+ * Layout: a magic number and a format version, the number of sources, then for each source its name, priority and
+ * number of glyphs, followed by each glyph's original name, converted name, row and column.
+ */
+public final class GlyphIndex {
+    private static final int MAGIC = 0x43454749; // "CEGI"
+    private static final int FORMAT_VERSION = 3;
+
+    private GlyphIndex() {
+    }
+
+    /**
+     * @throws IOException if the file cannot be read, or was not written by this format version
+     */
+    static @NotNull Map<String, CraftEngineImageUtils.Source> read(@NotNull Path file) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != MAGIC) {
+                throw new IOException("Not a glyph index: " + file);
+            }
+            int version = input.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported glyph index version " + version + ": " + file);
+            }
+            int sourceCount = input.readInt();
+            Map<String, CraftEngineImageUtils.Source> sources = new HashMap<>();
+            for (int i = 0; i < sourceCount; i++) {
+                String source = input.readUTF();
+                int priority = input.readInt();
+                int count = input.readInt();
+                Map<String, ImageConversion> glyphs = new HashMap<>(Math.max(16, (int) (count / 0.75f) + 1));
+                for (int j = 0; j < count; j++) {
+                    String originalName = input.readUTF();
+                    glyphs.put(originalName, new ImageConversion(input.readUTF(), input.readInt(), input.readInt()));
+                }
+                sources.put(source, new CraftEngineImageUtils.Source(priority, glyphs));
+            }
+            return sources;
+        }
+    }
+
+    /**
+     * Writes the glyphs to a temporary file first, then moves it over {@code file}, so that a crash never leaves a
+     * truncated index behind.
+     */
+    static void write(@NotNull Path file, @NotNull Map<String, CraftEngineImageUtils.Source> sources) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tempFile = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeInt(sources.size());
+                for (Map.Entry<String, CraftEngineImageUtils.Source> source : sources.entrySet()) {
+                    output.writeUTF(source.getKey());
+                    output.writeInt(source.getValue().priority());
+                    output.writeInt(source.getValue().glyphs().size());
+                    for (Map.Entry<String, ImageConversion> entry : source.getValue().glyphs().entrySet()) {
+                        ImageConversion conversion = entry.getValue();
+                        output.writeUTF(entry.getKey());
+                        output.writeUTF(conversion.convertedName());
+                        output.writeInt(conversion.row());
+                        output.writeInt(conversion.column());
+                    }
+                }
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+}
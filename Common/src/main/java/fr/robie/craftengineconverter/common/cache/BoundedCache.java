@@ -0,0 +1,238 @@
+package fr.robie.craftengineconverter.common.cache;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Thread-safe cache holding at most {@code maximumSize} entries, evicted with a segmented LRU policy.
+ * <p>
+ * New entries go to a probation segment and are only promoted to the protected segment when they are read again,
+ * so a burst of one-off keys (chat messages with player names, numbers...) evicts other one-off keys instead of
+ * the entries that are actually reused. Keys are spread over independently locked shards to keep contention low
+ * when the cache is read from several threads.
+ * <p>
+ * Loaders run outside the locks: two threads missing the same key at once may both load it, the first value
+ * stored is kept. Null values are never cached.
+ */
+public class BoundedCache<K, V> {
+    private static final int MAX_SHARDS = 16;
+    private static final int MIN_ENTRIES_PER_SHARD = 64;
+    // Share of a shard kept for entries read more than once
+    private static final double PROTECTED_RATIO = 0.8;
+
+    private final Shard<K, V>[] shards;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private volatile long maximumSize;
+
+    /**
+     * @param maximumSize maximum number of entries, 0 disables caching
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedCache(long maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size must not be negative: " + maximumSize);
+        }
+        int shardCount = Integer.highestOneBit((int) Math.max(1, Math.min(maximumSize / MIN_ENTRIES_PER_SHARD, MAX_SHARDS)));
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Shard<>();
+        }
+        setMaximumSize(maximumSize);
+    }
+
+    /**
+     * Returns the cached value of {@code key}, loading and caching it on a miss.
+     */
+    public V get(@NotNull K key, @NotNull Function<? super K, ? extends V> loader) {
+        V value = getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        value = loader.apply(key);
+        if (value == null || this.maximumSize == 0) {
+            return value;
+        }
+        return shardFor(key).putIfAbsent(key, value, this.evictions);
+    }
+
+    public @Nullable V getIfPresent(@NotNull K key) {
+        Objects.requireNonNull(key, "key");
+        V value = shardFor(key).get(key, this.evictions);
+        if (value != null) {
+            this.hits.increment();
+        } else {
+            this.misses.increment();
+        }
+        return value;
+    }
+
+    public void put(@NotNull K key, @NotNull V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+        if (this.maximumSize == 0) return;
+        shardFor(key).put(key, value, this.evictions);
+    }
+
+    public void invalidate(@NotNull K key) {
+        shardFor(key).remove(key);
+    }
+
+    public void clear() {
+        for (Shard<K, V> shard : this.shards) {
+            shard.clear();
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Shard<K, V> shard : this.shards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    public long getMaximumSize() {
+        return this.maximumSize;
+    }
+
+    /**
+     * Changes the maximum number of entries, evicting the least valuable entries if the cache is now too large.
+     */
+    public void setMaximumSize(long maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Maximum size must not be negative: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        long perShard = maximumSize / this.shards.length;
+        long remainder = maximumSize % this.shards.length;
+        for (int i = 0; i < this.shards.length; i++) {
+            this.shards[i].resize(i < remainder ? perShard + 1 : perShard, this.evictions);
+        }
+    }
+
+    public @NotNull Stats stats() {
+        return new Stats(this.hits.sum(), this.misses.sum(), this.evictions.sum(), size(), this.maximumSize);
+    }
+
+    private Shard<K, V> shardFor(Object key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return this.shards[hash & (this.shards.length - 1)];
+    }
+
+    /**
+     * @param hits lookups that found a value
+     * @param misses lookups that did not find a value
+     * @param evictions entries removed to stay within the maximum size
+     */
+    public record Stats(long hits, long misses, long evictions, long size, long maximumSize) {
+        public double hitRate() {
+            long requests = this.hits + this.misses;
+            return requests == 0 ? 1.0 : (double) this.hits / requests;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return String.format("%d/%d entries, %.1f%% hit rate (%d hits, %d misses), %d evictions",
+                    this.size, this.maximumSize, hitRate() * 100, this.hits, this.misses, this.evictions);
+        }
+    }
+
+    private static final class Shard<K, V> {
+        // Access ordered: the first entry of each map is the least recently used
+        private final LinkedHashMap<K, V> probation = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<K, V> protectedEntries = new LinkedHashMap<>(16, 0.75f, true);
+        private long capacity;
+        private long protectedCapacity;
+
+        synchronized V get(K key, LongAdder evictions) {
+            V value = this.protectedEntries.get(key);
+            if (value != null) {
+                return value;
+            }
+            value = this.probation.remove(key);
+            if (value != null) {
+                // Read a second time, worth protecting
+                this.protectedEntries.put(key, value);
+                demoteOverflow();
+                evictOverflow(evictions);
+            }
+            return value;
+        }
+
+        synchronized V putIfAbsent(K key, V value, LongAdder evictions) {
+            V existing = this.protectedEntries.get(key);
+            if (existing == null) {
+                existing = this.probation.get(key);
+            }
+            if (existing != null) {
+                return existing;
+            }
+            this.probation.put(key, value);
+            evictOverflow(evictions);
+            return value;
+        }
+
+        synchronized void put(K key, V value, LongAdder evictions) {
+            if (this.protectedEntries.containsKey(key)) {
+                this.protectedEntries.put(key, value);
+                return;
+            }
+            this.probation.put(key, value);
+            evictOverflow(evictions);
+        }
+
+        synchronized void remove(Object key) {
+            if (this.protectedEntries.remove(key) == null) {
+                this.probation.remove(key);
+            }
+        }
+
+        synchronized void clear() {
+            this.probation.clear();
+            this.protectedEntries.clear();
+        }
+
+        synchronized int size() {
+            return this.probation.size() + this.protectedEntries.size();
+        }
+
+        synchronized void resize(long capacity, LongAdder evictions) {
+            this.capacity = capacity;
+            this.protectedCapacity = (long) (capacity * PROTECTED_RATIO);
+            demoteOverflow();
+            evictOverflow(evictions);
+        }
+
+        /**
+         * Moves the least recently used protected entries back to probation, where they get a last chance.
+         */
+        private void demoteOverflow() {
+            while (this.protectedEntries.size() > this.protectedCapacity) {
+                Iterator<Map.Entry<K, V>> iterator = this.protectedEntries.entrySet().iterator();
+                Map.Entry<K, V> eldest = iterator.next();
+                iterator.remove();
+                this.probation.put(eldest.getKey(), eldest.getValue());
+            }
+        }
+
+        private void evictOverflow(LongAdder evictions) {
+            while (this.probation.size() + this.protectedEntries.size() > this.capacity) {
+                LinkedHashMap<K, V> victims = this.probation.isEmpty() ? this.protectedEntries : this.probation;
+                Iterator<K> iterator = victims.keySet().iterator();
+                iterator.next();
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+}
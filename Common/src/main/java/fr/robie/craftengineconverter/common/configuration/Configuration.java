@@ -2,6 +2,7 @@ package fr.robie.craftengineconverter.common.configuration;
 
 import fr.robie.craftengineconverter.common.enums.ArmorConverter;
 import fr.robie.craftengineconverter.common.enums.ConverterOptions;
+import fr.robie.craftengineconverter.common.enums.FileTransferStrategy;
 import fr.robie.craftengineconverter.common.logger.LogType;
 import fr.robie.craftengineconverter.common.logger.Logger;
 import fr.robie.craftengineconverter.common.progress.BukkitProgressBar;
@@ -19,10 +20,19 @@ public class Configuration {
     public static Material defaultMaterial = Material.PAPER;
     public static boolean disableDefaultItalic = true;
     public static ArmorConverter armorConverterType = ArmorConverter.COMPONENT;
+    public static boolean incrementalConversion = true;
+    public static int watchDebounceMs = 500;
     public static List<String> blacklistedPaths = new ArrayList<>();
+    private static volatile PathBlacklist pathBlacklist = PathBlacklist.EMPTY;
+
+    // Pack options
+    public static boolean streamZipExtraction = true;
+    public static int zipMemoryBudgetMb = 256;
+    public static FileTransferStrategy fileTransferStrategy = FileTransferStrategy.AUTO;
 
     // Formatting options
     public static boolean packetEventsFormatting = true;
+    public static int componentCacheSize = 2048;
 
     public static boolean bossBarFormatting = true;
     public static boolean actionBarFormatting = true;
@@ -32,6 +42,9 @@ public class Configuration {
     // Tags options
     public static boolean glyphTagEnabled = true;
     public static boolean placeholderAPITagEnabled = true;
+    public static int placeholderCacheDefaultTtlMs = 50;
+    public static List<String> placeholderCacheTtls = new ArrayList<>();
+    private static volatile PlaceholderTtls placeholderTtls = PlaceholderTtls.NONE;
 
     private static volatile Configuration instance;
     private boolean isUpdated = false;
@@ -56,59 +69,26 @@ public class Configuration {
      *
      * @param namespacedPath The path to check (e.g., "minecraft:textures/block/stone.png")
      * @return true if the path matches any blacklisted pattern
+     * @see PathBlacklist
      */
     public static boolean isPathBlacklisted(String namespacedPath) {
-        if (namespacedPath == null || blacklistedPaths.isEmpty()) {
-            return false;
-        }
-
-        for (String pattern : blacklistedPaths) {
-            if (matchesPattern(namespacedPath, pattern)) {
-                return true;
-            }
-        }
-
-        return false;
+        return pathBlacklist.matches(namespacedPath);
     }
 
     /**
-     * Checks if a path matches a pattern with wildcard support.
-     * Supports:
-     * - Exact match: "minecraft:textures/block/stone.png"
-     * - Wildcard: "minecraft:textures/*" matches everything under minecraft:textures/
-     * - Without namespace: "textures/*" matches "namespace:textures/*" for any namespace
-     *
-     * @param path The path to check
-     * @param pattern The pattern to match against
-     * @return true if the path matches the pattern
+     * Returns the blacklist compiled from {@link #blacklistedPaths} at the last configuration load.
+     * Callers checking many paths should fetch it once and reuse it.
      */
-    private static boolean matchesPattern(String path, String pattern) {
-        if (pattern.contains("*")) {
-            String regex = pattern.replace(".", "\\.")
-                                  .replace("*", ".*");
-
-            if (path.matches(regex)) {
-                return true;
-            }
-
-            if (!pattern.contains(":") && path.contains(":")) {
-                String pathWithoutNamespace = path.substring(path.indexOf(":") + 1);
-                String patternRegex = pattern.replace(".", "\\.")
-                                            .replace("*", ".*");
-                return pathWithoutNamespace.matches(patternRegex);
-            }
-        } else {
-            if (path.equals(pattern)) {
-                return true;
-            }
-
-            if (!pattern.contains(":") && path.contains(":")) {
-                String pathWithoutNamespace = path.substring(path.indexOf(":") + 1);
-                return pathWithoutNamespace.equals(pattern);
-            }
-        }
+    public static PathBlacklist getPathBlacklist() {
+        return pathBlacklist;
+    }
 
-        return false;
+    /**
+     * Returns the placeholder ttls compiled from {@link #placeholderCacheDefaultTtlMs} and
+     * {@link #placeholderCacheTtls} at the last configuration load.
+     */
+    public static PlaceholderTtls getPlaceholderTtls() {
+        return placeholderTtls;
     }
 
     public void load(YamlConfiguration config, File file) {
@@ -237,6 +217,8 @@ public class Configuration {
                 armorConverterType = ArmorConverter.COMPONENT;
             }
         }),
+        INCREMENTAL_CONVERSION("incremental-conversion", true, v -> incrementalConversion = (Boolean) v),
+        WATCH_DEBOUNCE_MS("watch.debounce-ms", 500, v -> watchDebounceMs = Math.max(0, (Integer) v)),
         BLACKLISTED_PATHS("blacklisted-paths", new ArrayList<>(), v -> {
             blacklistedPaths.clear();
             if (v instanceof List<?>) {
@@ -244,14 +226,42 @@ public class Configuration {
                 List<String> paths = (List<String>) v;
                 blacklistedPaths.addAll(paths);
             }
+            pathBlacklist = PathBlacklist.compile(blacklistedPaths);
+        }),
+        STREAM_ZIP_EXTRACTION("pack.stream-zip-extraction", true, v -> streamZipExtraction = (Boolean) v),
+        ZIP_MEMORY_BUDGET_MB("pack.zip-memory-budget-mb", 256, v -> zipMemoryBudgetMb = Math.max(1, (Integer) v)),
+        FILE_TRANSFER_STRATEGY("pack.file-transfer-strategy", "AUTO", v -> {
+            try {
+                String string = (String) v;
+                fileTransferStrategy = FileTransferStrategy.valueOf(string.toUpperCase());
+            } catch (Exception e) {
+                Logger.debug("Invalid file transfer strategy in configuration, using AUTO as default.", LogType.WARNING);
+                fileTransferStrategy = FileTransferStrategy.AUTO;
+            }
+            FileTransferStrategy.resetFallbacks();
         }),
         PACKET_EVENTS_FORMATTING("formatting.packet-events", true, v -> packetEventsFormatting = (Boolean) v),
         BOSS_BAR_FORMATTING("formatting.boss-bar", true, v -> bossBarFormatting = (Boolean) v),
         ACTION_BAR_FORMATTING("formatting.action-bar", true, v -> actionBarFormatting = (Boolean) v),
         PLUGIN_MESSAGE_FORMATTING("formatting.plugin-message", true, v -> pluginMessageFormatting = (Boolean) v),
         TITLE_FORMATTING("formatting.title", true, v -> titleFormatting = (Boolean) v),
+        COMPONENT_CACHE_SIZE("formatting.component-cache-size", 2048, v -> componentCacheSize = Math.max(0, (Integer) v)),
         GLYPH_TAG_ENABLED("tags.glyph.enabled", true, v -> glyphTagEnabled = (Boolean) v),
-        PLACEHOLDER_API_TAG_ENABLED("tags.placeholder-api.enabled", true, v -> placeholderAPITagEnabled = (Boolean) v)
+        PLACEHOLDER_API_TAG_ENABLED("tags.placeholder-api.enabled", true, v -> placeholderAPITagEnabled = (Boolean) v),
+        PLACEHOLDER_CACHE_DEFAULT_TTL_MS("tags.placeholder-api.cache.default-ttl-ms", 50, v -> placeholderCacheDefaultTtlMs = Math.max(0, (Integer) v)),
+        // Loaded after the default ttl, which the compiled table depends on
+        PLACEHOLDER_CACHE_TTLS("tags.placeholder-api.cache.ttls", new ArrayList<>(), v -> {
+            placeholderCacheTtls.clear();
+            if (v instanceof List<?> ttls) {
+                // Rules are text, but YAML may give a number or a boolean for an unquoted entry
+                for (Object ttl : ttls) {
+                    if (ttl != null) {
+                        placeholderCacheTtls.add(String.valueOf(ttl));
+                    }
+                }
+            }
+            placeholderTtls = PlaceholderTtls.compile(placeholderCacheDefaultTtlMs, placeholderCacheTtls);
+        })
         ;
 
         private final String path;
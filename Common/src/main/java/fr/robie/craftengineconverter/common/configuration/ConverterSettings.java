@@ -5,6 +5,7 @@ import org.jetbrains.annotations.Contract;
 public interface ConverterSettings {
     boolean dryRunEnabled();
     int threadCount();
+    boolean fullRebuildEnabled();
 
     void createBackup();
     void restoreBackup();
@@ -13,4 +14,6 @@ public interface ConverterSettings {
     ConverterSettings setDryRunEnabled(boolean enabled);
     @Contract(value = "_ -> this", mutates = "this")
     ConverterSettings setThreadCount(int threadCount);
+    @Contract(value = "_ -> this", mutates = "this")
+    ConverterSettings setFullRebuildEnabled(boolean enabled);
 }
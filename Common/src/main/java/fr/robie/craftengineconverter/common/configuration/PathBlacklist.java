@@ -0,0 +1,198 @@
+package fr.robie.craftengineconverter.common.configuration;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable matcher built once from the {@code blacklisted-paths} patterns.
+ * <p>
+ * Patterns follow the same rules as before:
+ * <ul>
+ *     <li>Exact match: {@code minecraft:textures/block/stone.png}</li>
+ *     <li>Wildcard: {@code minecraft:textures/*} matches everything under {@code minecraft:textures/}</li>
+ *     <li>Without namespace: {@code textures/*} also matches {@code <any namespace>:textures/...}</li>
+ * </ul>
+ * Exact patterns are kept in hash sets, patterns whose only wildcard is a trailing {@code *} go into a
+ * character trie, and every other glob is folded into a single precompiled regular expression. Characters
+ * other than {@code *} are always matched literally.
+ */
+public final class PathBlacklist implements Predicate<String> {
+    public static final PathBlacklist EMPTY = new PathBlacklist(Set.of(), Set.of(), PrefixTrie.EMPTY, PrefixTrie.EMPTY, null, null, 0);
+
+    private final Set<String> exactPaths;
+    private final Set<String> exactPathsWithoutNamespace;
+    private final PrefixTrie prefixes;
+    private final PrefixTrie prefixesWithoutNamespace;
+    private final @Nullable Pattern globs;
+    private final @Nullable Pattern globsWithoutNamespace;
+    private final int size;
+
+    private PathBlacklist(Set<String> exactPaths, Set<String> exactPathsWithoutNamespace,
+                          PrefixTrie prefixes, PrefixTrie prefixesWithoutNamespace,
+                          @Nullable Pattern globs, @Nullable Pattern globsWithoutNamespace, int size) {
+        this.exactPaths = exactPaths;
+        this.exactPathsWithoutNamespace = exactPathsWithoutNamespace;
+        this.prefixes = prefixes;
+        this.prefixesWithoutNamespace = prefixesWithoutNamespace;
+        this.globs = globs;
+        this.globsWithoutNamespace = globsWithoutNamespace;
+        this.size = size;
+    }
+
+    public static @NotNull PathBlacklist compile(@NotNull Collection<String> patterns) {
+        Set<String> exactPaths = new HashSet<>();
+        Set<String> exactPathsWithoutNamespace = new HashSet<>();
+        PrefixTrie.Builder prefixes = new PrefixTrie.Builder();
+        PrefixTrie.Builder prefixesWithoutNamespace = new PrefixTrie.Builder();
+        List<String> globs = new ArrayList<>();
+        List<String> globsWithoutNamespace = new ArrayList<>();
+        int size = 0;
+
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isEmpty()) continue;
+            size++;
+            boolean withoutNamespace = !pattern.contains(":");
+            int firstWildcard = pattern.indexOf('*');
+
+            if (firstWildcard < 0) {
+                exactPaths.add(pattern);
+                if (withoutNamespace) exactPathsWithoutNamespace.add(pattern);
+            } else if (firstWildcard == pattern.length() - 1) {
+                String prefix = pattern.substring(0, firstWildcard);
+                prefixes.add(prefix);
+                if (withoutNamespace) prefixesWithoutNamespace.add(prefix);
+            } else {
+                String regex = toRegex(pattern);
+                globs.add(regex);
+                if (withoutNamespace) globsWithoutNamespace.add(regex);
+            }
+        }
+
+        if (size == 0) return EMPTY;
+        return new PathBlacklist(Set.copyOf(exactPaths), Set.copyOf(exactPathsWithoutNamespace),
+                prefixes.build(), prefixesWithoutNamespace.build(),
+                combine(globs), combine(globsWithoutNamespace), size);
+    }
+
+    /**
+     * @param namespacedPath the path to check (e.g. {@code minecraft:textures/block/stone.png})
+     * @return true if the path matches any blacklisted pattern
+     */
+    public boolean matches(@Nullable String namespacedPath) {
+        if (namespacedPath == null || this.size == 0) return false;
+
+        if (this.exactPaths.contains(namespacedPath)
+                || this.prefixes.matchesPrefixOf(namespacedPath, 0)
+                || (this.globs != null && this.globs.matcher(namespacedPath).matches())) {
+            return true;
+        }
+
+        int separator = namespacedPath.indexOf(':');
+        if (separator < 0) return false;
+        int start = separator + 1;
+
+        if (!this.exactPathsWithoutNamespace.isEmpty()
+                && this.exactPathsWithoutNamespace.contains(namespacedPath.substring(start))) {
+            return true;
+        }
+        if (this.prefixesWithoutNamespace.matchesPrefixOf(namespacedPath, start)) {
+            return true;
+        }
+        return this.globsWithoutNamespace != null
+                && this.globsWithoutNamespace.matcher(namespacedPath).region(start, namespacedPath.length()).matches();
+    }
+
+    @Override
+    public boolean test(String namespacedPath) {
+        return matches(namespacedPath);
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    private static String toRegex(String pattern) {
+        StringBuilder regex = new StringBuilder();
+        int last = 0;
+        int wildcard;
+        while ((wildcard = pattern.indexOf('*', last)) >= 0) {
+            if (wildcard > last) regex.append(Pattern.quote(pattern.substring(last, wildcard)));
+            regex.append(".*");
+            last = wildcard + 1;
+        }
+        if (last < pattern.length()) regex.append(Pattern.quote(pattern.substring(last)));
+        return regex.toString();
+    }
+
+    private static @Nullable Pattern combine(List<String> regexes) {
+        if (regexes.isEmpty()) return null;
+        StringJoiner joiner = new StringJoiner("|");
+        for (String regex : regexes) {
+            joiner.add("(?:" + regex + ")");
+        }
+        return Pattern.compile(joiner.toString(), Pattern.DOTALL);
+    }
+
+    /**
+     * Character trie answering "does any stored prefix start the given string".
+     * Children are stored as sorted parallel arrays so lookups never allocate.
+     */
+    private static final class PrefixTrie {
+        static final PrefixTrie EMPTY = new PrefixTrie(false, new char[0], new PrefixTrie[0]);
+
+        private final boolean terminal;
+        private final char[] keys;
+        private final PrefixTrie[] children;
+
+        private PrefixTrie(boolean terminal, char[] keys, PrefixTrie[] children) {
+            this.terminal = terminal;
+            this.keys = keys;
+            this.children = children;
+        }
+
+        boolean matchesPrefixOf(String value, int start) {
+            PrefixTrie node = this;
+            for (int i = start; ; i++) {
+                if (node.terminal) return true;
+                if (i >= value.length()) return false;
+                int index = Arrays.binarySearch(node.keys, value.charAt(i));
+                if (index < 0) return false;
+                node = node.children[index];
+            }
+        }
+
+        static final class Builder {
+            private boolean terminal;
+            private final TreeMap<Character, Builder> children = new TreeMap<>();
+
+            void add(String prefix) {
+                Builder node = this;
+                for (int i = 0; i < prefix.length(); i++) {
+                    node = node.children.computeIfAbsent(prefix.charAt(i), c -> new Builder());
+                }
+                node.terminal = true;
+            }
+
+            PrefixTrie build() {
+                if (!this.terminal && this.children.isEmpty()) return EMPTY;
+                char[] keys = new char[this.children.size()];
+                PrefixTrie[] nodes = new PrefixTrie[this.children.size()];
+                int i = 0;
+                for (Map.Entry<Character, Builder> entry : this.children.entrySet()) {
+                    keys[i] = entry.getKey();
+                    nodes[i] = entry.getValue().build();
+                    i++;
+                }
+                return new PrefixTrie(this.terminal, keys, nodes);
+            }
+        }
+    }
+}
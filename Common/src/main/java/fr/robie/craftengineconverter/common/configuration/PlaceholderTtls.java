@@ -0,0 +1,110 @@
+package fr.robie.craftengineconverter.common.configuration;
+
+import fr.robie.craftengineconverter.common.logger.LogType;
+import fr.robie.craftengineconverter.common.logger.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable table of the time a PlaceholderAPI result may be reused, built once from the
+ * {@code tags.placeholder-api.cache} options.
+ * <p>
+ * Rules are written {@code pattern=ttl}, where the pattern is a placeholder without its percent signs
+ * ({@code vault_eco_balance}) in which {@code *} matches any characters ({@code server_*}), and the ttl is in
+ * milliseconds. The first matching rule wins, placeholders matching no rule use the default ttl. A ttl of 0 means
+ * the placeholder is always requested again.
+ */
+public final class PlaceholderTtls {
+    public static final PlaceholderTtls NONE = new PlaceholderTtls(List.of(), 0);
+
+    // Placeholders come from the messages sent to players, a full table simply starts over
+    private static final int MAX_RESOLVED_PLACEHOLDERS = 1024;
+
+    private final List<Rule> rules;
+    private final long defaultTtlMs;
+    private final Map<String, Long> resolved = new ConcurrentHashMap<>();
+
+    private PlaceholderTtls(List<Rule> rules, long defaultTtlMs) {
+        this.rules = rules;
+        this.defaultTtlMs = defaultTtlMs;
+    }
+
+    /**
+     * Invalid rules are logged and skipped.
+     */
+    public static @NotNull PlaceholderTtls compile(long defaultTtlMs, @NotNull Collection<String> rules) {
+        List<Rule> compiled = new ArrayList<>();
+        for (String rule : rules) {
+            if (rule == null || rule.isBlank()) continue;
+            int separator = rule.lastIndexOf('=');
+            if (separator <= 0) {
+                Logger.debug("Invalid placeholder cache rule '" + rule + "', expected pattern=ttl.", LogType.WARNING);
+                continue;
+            }
+            long ttlMs;
+            try {
+                ttlMs = Long.parseLong(rule.substring(separator + 1).trim());
+            } catch (NumberFormatException e) {
+                Logger.debug("Invalid ttl in placeholder cache rule '" + rule + "', expected milliseconds.", LogType.WARNING);
+                continue;
+            }
+            compiled.add(new Rule(toPattern(stripPercents(rule.substring(0, separator).trim())), Math.max(0, ttlMs)));
+        }
+        return new PlaceholderTtls(List.copyOf(compiled), Math.max(0, defaultTtlMs));
+    }
+
+    /**
+     * @param placeholder the placeholder without its percent signs, e.g. {@code vault_eco_balance}
+     * @return how long, in milliseconds, the result of the placeholder may be reused
+     */
+    public long ttlOf(@NotNull String placeholder) {
+        if (this.rules.isEmpty()) return this.defaultTtlMs;
+        Long ttlMs = this.resolved.get(placeholder);
+        if (ttlMs == null) {
+            ttlMs = match(placeholder);
+            if (this.resolved.size() >= MAX_RESOLVED_PLACEHOLDERS) {
+                this.resolved.clear();
+            }
+            this.resolved.put(placeholder, ttlMs);
+        }
+        return ttlMs;
+    }
+
+    private long match(String placeholder) {
+        for (Rule rule : this.rules) {
+            if (rule.pattern().matcher(placeholder).matches()) {
+                return rule.ttlMs();
+            }
+        }
+        return this.defaultTtlMs;
+    }
+
+    private static String stripPercents(String pattern) {
+        if (pattern.length() >= 2 && pattern.startsWith("%") && pattern.endsWith("%")) {
+            return pattern.substring(1, pattern.length() - 1);
+        }
+        return pattern;
+    }
+
+    private static Pattern toPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int last = 0;
+        int wildcard;
+        while ((wildcard = glob.indexOf('*', last)) >= 0) {
+            if (wildcard > last) regex.append(Pattern.quote(glob.substring(last, wildcard)));
+            regex.append(".*");
+            last = wildcard + 1;
+        }
+        if (last < glob.length()) regex.append(Pattern.quote(glob.substring(last)));
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private record Rule(Pattern pattern, long ttlMs) {
+    }
+}
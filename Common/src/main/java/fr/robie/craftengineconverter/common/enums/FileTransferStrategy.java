@@ -0,0 +1,124 @@
+package fr.robie.craftengineconverter.common.enums;
+
+import fr.robie.craftengineconverter.common.logger.LogType;
+import fr.robie.craftengineconverter.common.logger.Logger;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.Locale;
+
+/**
+ * How pack assets are transferred from the source pack to the converted pack.
+ */
+public enum FileTransferStrategy {
+    /**
+     * Plain {@link Files#copy} for every file.
+     */
+    COPY {
+        @Override
+        public void transfer(Path source, Path target) throws IOException {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    },
+    /**
+     * {@link FileChannel#transferTo}, letting the kernel move the bytes without going through the heap.
+     * The target is deleted before being written, never truncated: after a {@link #HARDLINK} run it may be a
+     * link to the source, and truncating it would empty the source as well.
+     */
+    CHANNEL {
+        @Override
+        public void transfer(Path source, Path target) throws IOException {
+            Files.deleteIfExists(target);
+            try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW)) {
+                long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    long transferred = in.transferTo(position, size - position, out);
+                    if (transferred <= 0) break;
+                    position += transferred;
+                }
+            }
+        }
+    },
+    /**
+     * {@link #COPY} for small files and {@link #CHANNEL} from {@link #CHANNEL_THRESHOLD_BYTES} upwards.
+     */
+    AUTO {
+        @Override
+        public void transfer(Path source, Path target) throws IOException {
+            if (Files.size(source) >= CHANNEL_THRESHOLD_BYTES) {
+                CHANNEL.transfer(source, target);
+            } else {
+                COPY.transfer(source, target);
+            }
+        }
+    },
+    /**
+     * Hard links the output to the source, turning the copy into a metadata operation. Only works when the
+     * source and the output are on the same file system; otherwise it falls back to {@link #AUTO} and stops
+     * trying until the strategy is reloaded. Other failures (missing file, denied access...) only fall back for
+     * the file concerned. The converted file then shares its content with the source file, editing one edits the
+     * other.
+     */
+    HARDLINK {
+        @Override
+        public void transfer(Path source, Path target) throws IOException {
+            if (!hardLinkUnsupported) {
+                try {
+                    Files.deleteIfExists(target);
+                    Files.createLink(target, source);
+                    return;
+                } catch (UnsupportedOperationException e) {
+                    disableHardLinks(e.getMessage());
+                } catch (FileSystemException e) {
+                    if (isHardLinkUnsupported(e)) {
+                        disableHardLinks(e.getMessage());
+                    } else {
+                        Logger.debug("Could not hard link " + target + " (" + e.getMessage() + "), copying it instead.", LogType.WARNING);
+                    }
+                }
+            }
+            AUTO.transfer(source, target);
+        }
+    };
+
+    public static final long CHANNEL_THRESHOLD_BYTES = 1024L * 1024L;
+
+    private static volatile boolean hardLinkUnsupported = false;
+
+    /**
+     * Transfers {@code source} to {@code target}, replacing the target if it already exists.
+     * The parent directory of {@code target} must exist.
+     */
+    public abstract void transfer(Path source, Path target) throws IOException;
+
+    private static void disableHardLinks(String reason) {
+        hardLinkUnsupported = true;
+        Logger.info("Hard links are not available for the converted pack (" + reason + "), falling back to AUTO file transfer.", LogType.WARNING);
+    }
+
+    /**
+     * Tells the failures that will happen for every file (links across file systems, file systems without hard
+     * links) from the ones that only concern one file. The subclasses of {@link FileSystemException} always
+     * concern a single file, the other errors are told apart by their reason.
+     */
+    private static boolean isHardLinkUnsupported(FileSystemException e) {
+        if (e.getClass() != FileSystemException.class || e.getReason() == null) {
+            return false;
+        }
+        String reason = e.getReason().toLowerCase(Locale.ROOT);
+        return reason.contains("cross-device") // EXDEV
+                || reason.contains("different disk drive") // ERROR_NOT_SAME_DEVICE
+                || reason.contains("not supported") // ENOTSUP, ERROR_NOT_SUPPORTED
+                || reason.contains("operation not permitted"); // EPERM, file systems without hard links
+    }
+
+    /**
+     * Forgets a previous hard link failure so that {@link #HARDLINK} tries again.
+     */
+    public static void resetFallbacks() {
+        hardLinkUnsupported = false;
+    }
+}
@@ -1,8 +1,13 @@
 package fr.robie.craftengineconverter.common.format;
 
-import fr.robie.craftengineconverter.common.cache.SimpleCache;
+import fr.robie.craftengineconverter.common.cache.BoundedCache;
+import fr.robie.craftengineconverter.common.configuration.Configuration;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.format.TextDecoration;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
@@ -23,8 +28,11 @@ import java.util.stream.Collectors;
 public class ComponentMeta implements MessageFormatter{
     private static final Pattern LEGACY_HEX_PATTERN = Pattern.compile("§x(§[0-9a-fA-F]){6}");
     private static final Pattern HEX_SHORT_PATTERN = Pattern.compile("(?<!<)&#([A-Fa-f0-9]{6})");
+    // Anything colorMiniMessage may convert, a few false positives only cost a parse
+    private static final Pattern LEGACY_FORMATTING_PATTERN = Pattern.compile("[&§][0-9a-fk-orA-FK-ORxX#]");
 
-    private final SimpleCache<String, Component> cache = new SimpleCache<>();
+    // Shared between the main thread and the Netty threads formatting packets
+    private final BoundedCache<String, Component> cache = new BoundedCache<>(Configuration.componentCacheSize);
 
     private final MiniMessage MINI_MESSAGE = MiniMessage.builder().tags(TagResolver.builder().resolver(StandardTags.defaults()).build()).build();
 
@@ -163,7 +171,51 @@ public class ComponentMeta implements MessageFormatter{
     }
 
     public Component getComponent(String message) {
-        return this.cache.get(message, () -> this.MINI_MESSAGE.deserialize(colorMiniMessage(message)).decoration(TextDecoration.ITALIC, false));
+        return this.cache.get(message, key -> normalize(this.MINI_MESSAGE.deserialize(colorMiniMessage(key))));
+    }
+
+    /**
+     * Applies the defaults of {@link #getComponent(String)} to a component built without it, e.g. a component whose
+     * tags were replaced in place. Legacy colors are not converted, see {@link #containsLegacyFormatting(Component)}.
+     */
+    public Component normalize(Component component) {
+        return component.decoration(TextDecoration.ITALIC, false);
+    }
+
+    /**
+     * Checks whether the text of a component contains legacy color codes ({@code &c}, {@code §c}, {@code &#a1b2c3}...)
+     * that {@link #getComponent(String)} would convert.
+     */
+    public static boolean containsLegacyFormatting(Component component) {
+        if (component instanceof TextComponent text && LEGACY_FORMATTING_PATTERN.matcher(text.content()).find()) {
+            return true;
+        }
+        if (component instanceof TranslatableComponent translatable) {
+            for (TranslationArgument argument : translatable.arguments()) {
+                if (containsLegacyFormatting(argument.asComponent())) return true;
+            }
+            String fallback = translatable.fallback();
+            if (fallback != null && LEGACY_FORMATTING_PATTERN.matcher(fallback).find()) return true;
+        }
+        HoverEvent<?> hoverEvent = component.hoverEvent();
+        if (hoverEvent != null && hoverEvent.value() instanceof Component hoverText && containsLegacyFormatting(hoverText)) {
+            return true;
+        }
+        for (Component child : component.children()) {
+            if (containsLegacyFormatting(child)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Applies the configured cache size, evicting entries if it was reduced.
+     */
+    public void resizeCache() {
+        this.cache.setMaximumSize(Configuration.componentCacheSize);
+    }
+
+    public BoundedCache.Stats getCacheStats() {
+        return this.cache.stats();
     }
 
     public static String getPlainText(Component component) {
@@ -37,12 +37,18 @@ public enum Message {
     COMMAND_CONVERTER_COMPLETE("§aConversion completed for §e%plugin%§a! In §c%time%§a."),
     COMMAND_CONVERTER_COMPLETE_ALL("§aConversion completed for all plugins! In §c%time%§a."),
     COMMAND_CONVERTER_DRYRUN_ENABLED("§eDry run §aenabled. No changes will be applied."),
+    COMMAND_CONVERTER_ALREADY_RUNNING("§cA conversion of §e%plugin%§c is already running, wait for it to complete."),
     COMMAND_CONVERTER_THREADS_LIMIT("§cThe number of threads specified exceeds the number of available processors. Using the maximum available: §e%max%§c."),
 
+    COMMAND_WATCH_START("§aWatching §e%plugin%§a sources. Changed files will be reconverted automatically."),
+    COMMAND_WATCH_STOP("§aStopped watching §e%plugin%§a sources."),
+    COMMAND_WATCH_ERROR("§cUnable to watch §e%plugin%§c sources, check the console for details."),
+
     COMMAND_RELOAD_SUCCESS("§aPlugin configuration and messages reloaded in §c%time%§a."),
 
     DESCRIPTION_COMMAND_RELOAD("Reloads the plugin configuration and messages."),
     DESCRIPTION_COMMAND_CONVERT("Converts items from another plugin to CraftEngine format."),
+    DESCRIPTION_COMMAND_WATCH("Toggles automatic reconversion when the sources of a plugin change."),
 
     ITEM_CONVERTED("§aItem §e%item%§a converted successfully in §c%time%§a.");
 
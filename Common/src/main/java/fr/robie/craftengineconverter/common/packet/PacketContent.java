@@ -1,15 +1,24 @@
 package fr.robie.craftengineconverter.common.packet;
 
+import fr.robie.craftengineconverter.common.format.ComponentMeta;
 import net.kyori.adventure.text.Component;
 
-public record PacketContent<C>(C container, PacketProcessor<C> processor, String message) {
+public record PacketContent<C>(C container, PacketProcessor<C> processor, Component component) {
 
     public void save(final Component component) {
         this.processor.edit(container, component);
     }
 
     public boolean isEmpty() {
-        return message.isEmpty();
+        return component == null || component.equals(Component.empty());
+    }
+
+    /**
+     * Serializes the component to MiniMessage. This is costly, so it is only done once the packet is known to
+     * contain tags.
+     */
+    public String message() {
+        return ComponentMeta.getPlainText(component);
     }
 
 }
\ No newline at end of file
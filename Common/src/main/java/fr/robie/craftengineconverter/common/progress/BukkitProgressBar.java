@@ -17,7 +17,7 @@ public class BukkitProgressBar extends ObjectUtils {
     private WrappedTask task = null;
 
     private final int total;
-    private int current;
+    private volatile int current;
     private long startTimeMillis = 0;
     private final char progressChar;
     private final char emptyChar;
@@ -181,9 +181,10 @@ public class BukkitProgressBar extends ObjectUtils {
 
     /**
      * Increments the progress by the specified amount.
+     * Safe to call from several worker threads at once.
      * @param amount the amount to increment
      */
-    public void increment(int amount) {
+    public synchronized void increment(int amount) {
         setCurrent(current + amount);
     }
 
@@ -191,7 +192,7 @@ public class BukkitProgressBar extends ObjectUtils {
      * Sets the current progress value.
      * @param current the new current value (clamped between 0 and total)
      */
-    public void setCurrent(int current) {
+    public synchronized void setCurrent(int current) {
         int oldCurrent = this.current;
         this.current = Math.max(0, Math.min(current, total));
 
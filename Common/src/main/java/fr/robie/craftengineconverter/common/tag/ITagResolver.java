@@ -1,8 +1,11 @@
 package fr.robie.craftengineconverter.common.tag;
 
+import fr.robie.craftengineconverter.common.format.ComponentMeta;
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 
 import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Utility interface for resolving custom tags in text strings using registered {@link TagProcessor}s.
@@ -44,4 +47,46 @@ public interface ITagResolver {
      *         or {@link Optional#empty()} if no tags were found or resolved
      */
     Optional<String> resolveTags(String message, Player player);
+
+    /**
+     * Checks whether the given component may contain tags of the registered tag processors.
+     * <p>
+     * The component tree is scanned as is, without serializing it, so this is cheap enough to call on every
+     * packet before {@link #resolveTags(String, Player)}. It may report tags that no processor ends up
+     * resolving, but never misses one.
+     * </p>
+     *
+     * @param component The component to check
+     * @return {@code false} if the component cannot contain any tag
+     */
+    boolean hasTags(Component component);
+
+    /**
+     * Resolves all custom tags in the given component.
+     * <p>
+     * When every processor with tags in the component supports it, the tags are replaced inside the component
+     * tree and the result goes through {@link ComponentMeta#normalize(Component)}. Otherwise, or when the component
+     * contains legacy color codes, the component is serialized to MiniMessage, resolved with
+     * {@link #resolveTags(String, Player)} and parsed back with {@link ComponentMeta#getComponent(String)}. Both
+     * ways give the same result for the same message, whichever tags it contains.
+     * </p>
+     * <p>
+     * Results of components that do not depend on the player may be reused.
+     * </p>
+     *
+     * @param component The component containing tags to resolve
+     * @param player The player for whom to resolve tags, may be {@code null} for context-free resolution
+     * @param formatter Parses resolved MiniMessage strings and normalizes the components resolved in place
+     * @return An {@link Optional} containing the resolved component if any tags were processed,
+     *         or {@link Optional#empty()} if no tags were found or resolved
+     */
+    Optional<Component> resolveTags(Component component, Player player, ComponentMeta formatter);
+
+    /**
+     * Forgets everything the registered tag processors keep about a player.
+     *
+     * @param playerId The unique id of the player leaving the server
+     * @see TagProcessor#invalidate(UUID)
+     */
+    void invalidatePlayer(UUID playerId);
 }
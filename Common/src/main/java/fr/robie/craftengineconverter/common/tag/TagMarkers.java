@@ -0,0 +1,139 @@
+package fr.robie.craftengineconverter.common.tag;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.text.event.ClickEvent;
+import net.kyori.adventure.text.event.HoverEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Finds out whether a text or a component may contain a tag of the registered {@link TagProcessor}s, by looking
+ * for the {@code <prefix:} markers declared through {@link TagProcessor#getPrefixes()}.
+ * <p>
+ * Components are walked as they are, without serializing them, and nothing is allocated while scanning, which
+ * makes it cheap enough to run on every packet. A marker split over sibling components is still found. The check
+ * is conservative: when a processor does not declare its prefixes, every input is reported as possibly tagged.
+ * </p>
+ */
+public final class TagMarkers {
+    public static final TagMarkers NONE = new TagMarkers(new char[0][], false);
+
+    // A scan state packs the number of characters matched since the last '<' (high bits) and the markers still
+    // matching (low bits), so that it can be carried from one component to the next without allocating
+    private static final int MAX_MARKERS = Integer.SIZE;
+    private static final long FOUND = -1L;
+    private static final long IDLE = 0L;
+
+    private final char[][] markers;
+    private final int allMarkers;
+    private final boolean matchAll;
+
+    private TagMarkers(char[][] markers, boolean matchAll) {
+        this.markers = markers;
+        this.allMarkers = markers.length == MAX_MARKERS ? -1 : (1 << markers.length) - 1;
+        this.matchAll = matchAll;
+    }
+
+    public static @NotNull TagMarkers of(@NotNull Collection<? extends TagProcessor> processors) {
+        Set<String> markers = new LinkedHashSet<>();
+        for (TagProcessor processor : processors) {
+            Set<String> prefixes = processor.getPrefixes();
+            if (prefixes == null || prefixes.isEmpty()) {
+                return new TagMarkers(new char[0][], true);
+            }
+            for (String prefix : prefixes) {
+                // The leading '<' is implied, see advance
+                markers.add(prefix + ":");
+            }
+        }
+        if (markers.size() > MAX_MARKERS) {
+            return new TagMarkers(new char[0][], true);
+        }
+
+        char[][] chars = new char[markers.size()][];
+        int index = 0;
+        for (String marker : markers) {
+            chars[index++] = marker.toCharArray();
+        }
+        return new TagMarkers(chars, false);
+    }
+
+    public boolean containsAny(@NotNull String text) {
+        if (this.matchAll) return true;
+        return this.markers.length > 0 && advance(IDLE, text) == FOUND;
+    }
+
+    public boolean containsAny(@NotNull Component component) {
+        if (this.matchAll) return true;
+        return this.markers.length > 0 && scan(IDLE, component) == FOUND;
+    }
+
+    private long scan(long state, Component component) {
+        if (component instanceof TextComponent text) {
+            state = advance(state, text.content());
+        } else if (component instanceof TranslatableComponent translatable) {
+            for (TranslationArgument argument : translatable.arguments()) {
+                state = scan(state, argument.asComponent());
+                if (state == FOUND) return FOUND;
+            }
+            String fallback = translatable.fallback();
+            if (fallback != null) {
+                state = advance(state, fallback);
+            }
+        }
+        if (state == FOUND) return FOUND;
+
+        // Event values are serialized as tag arguments, their tags are processed as well
+        HoverEvent<?> hoverEvent = component.hoverEvent();
+        if (hoverEvent != null && hoverEvent.value() instanceof Component hoverText && scan(IDLE, hoverText) == FOUND) {
+            return FOUND;
+        }
+        ClickEvent clickEvent = component.clickEvent();
+        if (clickEvent != null && advance(IDLE, clickEvent.value()) == FOUND) {
+            return FOUND;
+        }
+        String insertion = component.insertion();
+        if (insertion != null && advance(IDLE, insertion) == FOUND) {
+            return FOUND;
+        }
+
+        for (Component child : component.children()) {
+            state = scan(state, child);
+            if (state == FOUND) return FOUND;
+        }
+        return state;
+    }
+
+    private long advance(long state, String text) {
+        int matched = (int) (state >>> 32);
+        int candidates = (int) state;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '<') {
+                matched = 0;
+                candidates = this.allMarkers;
+                continue;
+            }
+            if (candidates == 0) continue;
+
+            int next = 0;
+            for (int remaining = candidates; remaining != 0; remaining &= remaining - 1) {
+                int index = Integer.numberOfTrailingZeros(remaining);
+                char[] marker = this.markers[index];
+                if (marker[matched] == c) {
+                    if (matched + 1 == marker.length) return FOUND;
+                    next |= 1 << index;
+                }
+            }
+            candidates = next;
+            matched++;
+        }
+        return candidates == 0 ? IDLE : ((long) matched << 32) | (candidates & 0xFFFFFFFFL);
+    }
+}
@@ -1,8 +1,11 @@
 package fr.robie.craftengineconverter.common.tag;
 
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.regex.Pattern;
 
 /**
@@ -39,6 +42,41 @@ public interface TagProcessor {
      */
     Pattern getPattern();
 
+    /**
+     * Gets the names that this processor's tags start with, e.g. {@code glyph} for {@code <glyph:heart>}.
+     * <p>
+     * They let the resolver skip messages that cannot contain any of this processor's tags, without
+     * serializing them or running {@link #getPattern()}. Processors that do not declare them are always checked.
+     * </p>
+     *
+     * <p>
+     * Declaring them also lets the resolver find this processor's tags in the same pass as the other processors'
+     * ones, and hand each of them to {@link #resolveTag(String, String, String, Player)}.
+     * </p>
+     *
+     * @return The tag names, or an empty set if unknown
+     */
+    default Set<String> getPrefixes() {
+        return Set.of();
+    }
+
+    /**
+     * Resolves a single tag found by the resolver, for processors declaring {@link #getPrefixes()}.
+     * <p>
+     * The default implementation runs {@link #process(String, Player)} on the tag alone.
+     * </p>
+     *
+     * @param prefix The prefix the tag starts with, one of {@link #getPrefixes()}
+     * @param argument The text between the {@code ':'} following the prefix and the closing {@code '>'}
+     * @param raw The whole tag as written, including the escaping backslash if there is one
+     * @param player The player for whom to resolve the tag, may be {@code null}
+     * @return An {@link Optional} containing the replacement of the tag,
+     *         or {@link Optional#empty()} to keep the tag as written
+     */
+    default Optional<String> resolveTag(String prefix, String argument, String raw, Player player) {
+        return process(raw, player);
+    }
+
     /**
      * Processes the input string and replaces all matching tags with their converted values.
      * <p>
@@ -67,4 +105,55 @@ public interface TagProcessor {
      * @return {@code true} if the input contains at least one matching tag, {@code false} otherwise
      */
     boolean hasTag(String input);
+
+    /**
+     * Checks if this processor can resolve its tags directly inside a component tree,
+     * through {@link #process(Component, Player)}.
+     *
+     * @return {@code true} if {@link #process(Component, Player)} is implemented
+     */
+    default boolean supportsComponents() {
+        return false;
+    }
+
+    /**
+     * Replaces the tags found in the text of a component tree, without serializing it to MiniMessage.
+     * <p>
+     * Styles, hover and click events of the original components are kept as they are. Only called when
+     * {@link #supportsComponents()} returns {@code true}.
+     * </p>
+     *
+     * @param component The component that may contain tags to process
+     * @param player The player for whom to resolve tags, may be {@code null}
+     * @return An {@link Optional} containing the rewritten component if any tag was replaced,
+     *         or {@link Optional#empty()} if nothing changed
+     */
+    default Optional<Component> process(Component component, Player player) {
+        return Optional.empty();
+    }
+
+    /**
+     * Checks if the replacement of this processor's tags may differ from one player to another.
+     * <p>
+     * Messages whose tags all belong to player-independent processors are resolved once and reused for every
+     * player they are sent to, e.g. each recipient of a broadcast. Processors must only return {@code false} if
+     * their result never depends on the player.
+     * </p>
+     *
+     * @return {@code true} if the player is used to resolve the tags, which is the default
+     */
+    default boolean isPlayerDependent() {
+        return true;
+    }
+
+    /**
+     * Forgets everything kept about a player, e.g. cached placeholder results.
+     * <p>
+     * Called when the player leaves the server. The default implementation keeps nothing per player.
+     * </p>
+     *
+     * @param playerId The unique id of the player
+     */
+    default void invalidate(UUID playerId) {
+    }
 }
@@ -88,14 +88,15 @@ public class PacketEventsListener extends PacketListenerAbstract {
         }
 
         if (packet == null || packet.isEmpty()) return;
-        final String message = packet.message();
+        // Most packets have no tag at all, skip them before doing any work
+        if (!this.tagResolverUtils.hasTags(packet.component())) return;
 
-        final Optional<String> parsed = this.tagResolverUtils.resolveTags(message, event.getPlayer());
-        if (parsed.isEmpty()) {
+        final Optional<Component> resolved = this.tagResolverUtils.resolveTags(packet.component(), event.getPlayer(), this.componentMeta);
+        if (resolved.isEmpty()) {
             return;
         }
 
-        final Component translated = this.componentMeta.getComponent(parsed.get());
+        final Component translated = resolved.get();
         if (translated.equals(Component.empty())) {
             event.setCancelled(true);
             return;
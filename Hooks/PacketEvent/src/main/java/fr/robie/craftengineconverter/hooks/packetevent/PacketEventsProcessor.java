@@ -1,7 +1,6 @@
 package fr.robie.craftengineconverter.hooks.packetevent;
 
 import com.github.retrooper.packetevents.wrapper.play.server.*;
-import fr.robie.craftengineconverter.common.format.ComponentMeta;
 import fr.robie.craftengineconverter.common.packet.PacketContent;
 import fr.robie.craftengineconverter.common.packet.PacketProcessor;
 import net.kyori.adventure.text.Component;
@@ -22,7 +21,7 @@ public class PacketEventsProcessor {
         @Override
         public @NotNull PacketContent<WrapperPlayServerSystemChatMessage> unpack(WrapperPlayServerSystemChatMessage wrappedPacket) {
             Component internal = wrappedPacket.getMessage();
-            return new PacketContent<>(wrappedPacket, this, ComponentMeta.getPlainText(internal));
+            return new PacketContent<>(wrappedPacket, this, internal);
         }
     };
 
@@ -40,7 +39,7 @@ public class PacketEventsProcessor {
         @Override
         public @NotNull PacketContent<WrapperPlayServerSetTitleText> unpack(WrapperPlayServerSetTitleText container) {
             Component internal = container.getTitle();
-            return new PacketContent<>(container, this, ComponentMeta.getPlainText(internal));
+            return new PacketContent<>(container, this, internal);
         }
     };
 
@@ -58,7 +57,7 @@ public class PacketEventsProcessor {
         @Override
         public @NotNull PacketContent<WrapperPlayServerSetTitleSubtitle> unpack(WrapperPlayServerSetTitleSubtitle container) {
             Component internal = container.getSubtitle();
-            return new PacketContent<>(container, this, ComponentMeta.getPlainText(internal));
+            return new PacketContent<>(container, this, internal);
         }
     };
 
@@ -76,7 +75,7 @@ public class PacketEventsProcessor {
         @Override
         public @NotNull PacketContent<WrapperPlayServerActionBar> unpack(WrapperPlayServerActionBar container) {
             Component internal = container.getActionBarText();
-            return new PacketContent<>(container, this, ComponentMeta.getPlainText(internal));
+            return new PacketContent<>(container, this, internal);
         }
     };
 
@@ -94,7 +93,7 @@ public class PacketEventsProcessor {
         @Override
         public @NotNull PacketContent<WrapperPlayServerBossBar> unpack(WrapperPlayServerBossBar container) {
             Component internal = container.getTitle();
-            return new PacketContent<>(container, this, ComponentMeta.getPlainText(internal));
+            return new PacketContent<>(container, this, internal);
         }
     };
 }
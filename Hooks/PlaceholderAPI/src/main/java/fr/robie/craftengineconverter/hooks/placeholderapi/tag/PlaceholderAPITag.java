@@ -5,11 +5,14 @@ import me.clip.placeholderapi.PlaceholderAPI;
 import org.bukkit.entity.Player;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class PlaceholderAPITag implements TagProcessor {
     private static final Pattern PLACEHOLDER_API_PATTERN = Pattern.compile("\\\\?<(?:placeholderapi|papi):([^>]+)>");
+    private final PlaceholderCache cache = new PlaceholderCache();
 
     @Override
     public String getTagName() {
@@ -21,6 +24,11 @@ public class PlaceholderAPITag implements TagProcessor {
         return PLACEHOLDER_API_PATTERN;
     }
 
+    @Override
+    public Set<String> getPrefixes() {
+        return Set.of("placeholderapi", "papi");
+    }
+
     @Override
     public Optional<String> process(String input, Player player) {
         if (player == null) {
@@ -31,21 +39,40 @@ public class PlaceholderAPITag implements TagProcessor {
         StringBuilder result = new StringBuilder();
 
         while (matcher.find()) {
-            String placeholder = matcher.group(1);
-
-            String[] placeholders = placeholder.split(":");
-
-            StringBuilder joinedPlaceholder = new StringBuilder();
-            for (String placeholderPart : placeholders) {
-                joinedPlaceholder.append(PlaceholderAPI.setPlaceholders(player, "%" + placeholderPart + "%"));
-            }
-            matcher.appendReplacement(result, Matcher.quoteReplacement(joinedPlaceholder.toString()));
+            matcher.appendReplacement(result, Matcher.quoteReplacement(setPlaceholders(matcher.group(1), player)));
         }
 
         matcher.appendTail(result);
         return Optional.of(result.toString());
     }
 
+    @Override
+    public Optional<String> resolveTag(String prefix, String argument, String raw, Player player) {
+        if (player == null) {
+            return Optional.empty();
+        }
+        return Optional.of(setPlaceholders(argument, player));
+    }
+
+    private String setPlaceholders(String placeholder, Player player) {
+        String[] placeholders = placeholder.split(":");
+
+        StringBuilder joinedPlaceholder = new StringBuilder();
+        for (String placeholderPart : placeholders) {
+            joinedPlaceholder.append(this.cache.get(player, placeholderPart, PlaceholderAPITag::requestPlaceholder));
+        }
+        return joinedPlaceholder.toString();
+    }
+
+    private static String requestPlaceholder(Player player, String placeholder) {
+        return PlaceholderAPI.setPlaceholders(player, "%" + placeholder + "%");
+    }
+
+    @Override
+    public void invalidate(UUID playerId) {
+        this.cache.invalidate(playerId);
+    }
+
     @Override
     public boolean hasTag(String input) {
         return PLACEHOLDER_API_PATTERN.matcher(input).find();
@@ -0,0 +1,64 @@
+package fr.robie.craftengineconverter.hooks.placeholderapi.tag;
+
+import fr.robie.craftengineconverter.common.configuration.Configuration;
+import fr.robie.craftengineconverter.common.configuration.PlaceholderTtls;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Results of PlaceholderAPI placeholders, kept per player for the time configured in {@link PlaceholderTtls}.
+ * <p>
+ * The ttl is checked when a result is read rather than when it is stored, so a configuration reload applies to
+ * the results already cached. Packets are formatted on the network threads, every map is concurrent.
+ */
+final class PlaceholderCache {
+    // Placeholders come from the messages sent to the player, a full cache simply starts over
+    private static final int MAX_PLACEHOLDERS_PER_PLAYER = 256;
+
+    private final Map<UUID, Map<String, CachedValue>> players = new ConcurrentHashMap<>();
+
+    /**
+     * @param placeholder the placeholder without its percent signs
+     * @param loader      requests the placeholder from PlaceholderAPI on a miss
+     */
+    String get(Player player, String placeholder, BiFunction<Player, String, String> loader) {
+        long ttlMs = Configuration.getPlaceholderTtls().ttlOf(placeholder);
+        if (ttlMs == 0) {
+            return loader.apply(player, placeholder);
+        }
+
+        long now = System.nanoTime();
+        Map<String, CachedValue> values = this.players.get(player.getUniqueId());
+        if (values != null) {
+            CachedValue cached = values.get(placeholder);
+            if (cached != null && now - cached.loadedAt() < TimeUnit.MILLISECONDS.toNanos(ttlMs)) {
+                return cached.value();
+            }
+        }
+
+        String value = loader.apply(player, placeholder);
+        // Packets can still be sent once the player has left, their results would never be invalidated
+        if (value != null && player.isOnline()) {
+            if (values == null) {
+                values = this.players.computeIfAbsent(player.getUniqueId(), id -> new ConcurrentHashMap<>());
+            }
+            if (values.size() >= MAX_PLACEHOLDERS_PER_PLAYER) {
+                values.clear();
+            }
+            values.put(placeholder, new CachedValue(value, now));
+        }
+        return value;
+    }
+
+    void invalidate(UUID playerId) {
+        this.players.remove(playerId);
+    }
+
+    private record CachedValue(String value, long loadedAt) {
+    }
+}
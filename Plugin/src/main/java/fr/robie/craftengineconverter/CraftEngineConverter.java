@@ -5,6 +5,7 @@ import com.google.gson.GsonBuilder;
 import fr.robie.craftengineconverter.api.packet.PacketLoader;
 import fr.robie.craftengineconverter.command.CraftEngineConverterCommand;
 import fr.robie.craftengineconverter.common.CraftEngineConverterPlugin;
+import fr.robie.craftengineconverter.common.CraftEngineImageUtils;
 import fr.robie.craftengineconverter.common.FoliaCompatibilityManager;
 import fr.robie.craftengineconverter.common.builder.TimerBuilder;
 import fr.robie.craftengineconverter.common.configuration.Configuration;
@@ -15,8 +16,11 @@ import fr.robie.craftengineconverter.common.logger.LogType;
 import fr.robie.craftengineconverter.common.logger.Logger;
 import fr.robie.craftengineconverter.common.tag.ITagResolver;
 import fr.robie.craftengineconverter.converter.Converter;
+import fr.robie.craftengineconverter.converter.ConverterWatcher;
 import fr.robie.craftengineconverter.converter.nexo.NexoConverter;
 import fr.robie.craftengineconverter.hooks.packetevent.PacketEventHook;
+import fr.robie.craftengineconverter.listener.CraftEngineListener;
+import fr.robie.craftengineconverter.listener.PlayerListener;
 import fr.robie.craftengineconverter.loader.MessageLoader;
 import fr.robie.craftengineconverter.utils.TagResolver;
 import fr.robie.craftengineconverter.utils.command.CommandManager;
@@ -29,6 +33,7 @@ import fr.robie.craftengineconverter.utils.save.Savable;
 import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Modifier;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
@@ -38,6 +43,7 @@ public final class CraftEngineConverter extends CraftEngineConverterPlugin {
     private static CraftEngineConverter INSTANCE;
 
     private final Map<String, Converter> converterMap = new HashMap<>();
+    private final Map<String, ConverterWatcher> watchers = new HashMap<>();
 
     private final FoliaCompatibilityManager foliaCompatibilityManager = new FoliaCompatibilityManager(this);
     private final CommandManager commandManager = new CommandManager(this);
@@ -97,7 +103,10 @@ public final class CraftEngineConverter extends CraftEngineConverterPlugin {
         this.commandManager.validCommands();
         registerConverter(new NexoConverter(this));
 
+        this.loadGlyphIndex();
         this.tagResolver.initTagProcessors();
+        getServer().getPluginManager().registerEvents(new CraftEngineListener(), this);
+        getServer().getPluginManager().registerEvents(new PlayerListener(this.tagResolver), this);
 
         if (this.packetLoader != null){
             this.packetLoader.onEnable();
@@ -109,7 +118,8 @@ public final class CraftEngineConverter extends CraftEngineConverterPlugin {
             Collection<Converter> values = this.converterMap.values();
             AtomicInteger counter = new AtomicInteger(values.size());
             for (Converter converter : values) {
-                CompletableFuture<Void> voidCompletableFuture = converter.convertAll(Optional.empty());
+                CompletableFuture<Void> voidCompletableFuture = converter.tryConvert(() -> converter.convertAll(Optional.empty()))
+                        .orElseGet(() -> CompletableFuture.completedFuture(null));
                 voidCompletableFuture.thenAccept(voidCompletableFuture1 -> {
                     int remaining = counter.decrementAndGet();
                     if (remaining == 0) {
@@ -128,6 +138,7 @@ public final class CraftEngineConverter extends CraftEngineConverterPlugin {
     public void onDisable() {
         Logger.info("Disabling plugin ...");
 
+        this.stopWatchers();
         this.saveFiles();
 
         if (this.packetLoader != null){
@@ -188,6 +199,48 @@ public final class CraftEngineConverter extends CraftEngineConverterPlugin {
         return Collections.unmodifiableCollection(this.converterMap.values());
     }
 
+    /**
+     * Starts watching the sources of a converter, or stops if it is already watched.
+     *
+     * @return true if the converter is now watched
+     * @throws IOException if the sources cannot be watched
+     */
+    public synchronized boolean toggleWatcher(Converter converter) throws IOException {
+        String name = converter.getName().toLowerCase();
+        ConverterWatcher watcher = this.watchers.remove(name);
+        if (watcher != null && watcher.isRunning()) {
+            watcher.stop();
+            return false;
+        }
+        watcher = new ConverterWatcher(converter);
+        watcher.start();
+        this.watchers.put(name, watcher);
+        return true;
+    }
+
+    public synchronized void stopWatchers() {
+        this.watchers.values().forEach(ConverterWatcher::stop);
+        this.watchers.clear();
+    }
+
+    /**
+     * File storing the glyphs registered by the conversions, see {@link CraftEngineImageUtils#saveIndex}.
+     */
+    public File getGlyphIndexFile() {
+        return new File(this.getDataFolder(), "converted/glyphs.idx");
+    }
+
+    private void loadGlyphIndex() {
+        File indexFile = getGlyphIndexFile();
+        if (!indexFile.exists()) return;
+        try {
+            int loaded = CraftEngineImageUtils.loadIndex(indexFile.toPath());
+            Logger.debug("Loaded " + loaded + " glyph(s) from " + indexFile.getName());
+        } catch (IOException e) {
+            Logger.info("Could not load the glyph index, convert the glyphs again to rebuild it: " + e.getMessage(), LogType.WARNING);
+        }
+    }
+
     public Gson getGson() {
         return this.gson;
     }
@@ -206,6 +259,14 @@ public final class CraftEngineConverter extends CraftEngineConverterPlugin {
         File configFile = new File(this.getDataFolder(), "config.yml");
         YamlConfiguration config = YamlConfiguration.loadConfiguration(configFile);
         Configuration.getInstance().load(config, configFile);
+        if (this.messageFormatter instanceof ComponentMeta componentMeta) {
+            Logger.debug("Component cache: " + componentMeta.getCacheStats());
+            componentMeta.resizeCache();
+        }
+        if (this.tagResolver instanceof TagResolver resolver) {
+            Logger.debug("Shared resolution cache: " + resolver.getCacheStats());
+            resolver.resizeCache();
+        }
     }
 
     public static CraftEngineConverter getInstance() {
@@ -34,6 +34,7 @@ public class CraftEngineConverterCommandConvert extends VCommand {
         });
         this.addFlag("--dryrun");
         this.addFlag("--threads", Integer.class, 1);
+        this.addFlag("--full");
     }
 
     @Override
@@ -44,6 +45,7 @@ public class CraftEngineConverterCommandConvert extends VCommand {
         if (dryRun){
             message(plugin,sender, Message.COMMAND_CONVERTER_DRYRUN_ENABLED);
         }
+        boolean fullRebuild = this.containFlag("--full");
         int threads = this.getFlagValueAsInteger("threads");
         if (threads < 1){
             threads = 1;
@@ -58,15 +60,19 @@ public class CraftEngineConverterCommandConvert extends VCommand {
             Collection<Converter> converters = plugin.getConverters();
             AtomicInteger counter = new AtomicInteger(converters.size());
             for (Converter converter : converters){
-                ConverterSettings converterSettings = converter.getSettings();
-                converterSettings.createBackup();
-                CompletableFuture<Void> voidCompletableFuture = processConverter(converter, converterOption, Optional.ofNullable(this.player), dryRun, threads);
+                Optional<CompletableFuture<Void>> conversion = processConverter(converter, converterOption, Optional.ofNullable(this.player), dryRun, threads, fullRebuild);
+                CompletableFuture<Void> voidCompletableFuture;
+                if (conversion.isPresent()) {
+                    voidCompletableFuture = conversion.get();
+                } else {
+                    message(plugin,sender, Message.COMMAND_CONVERTER_ALREADY_RUNNING, "plugin", converter.getName());
+                    voidCompletableFuture = CompletableFuture.completedFuture(null);
+                }
                 voidCompletableFuture.thenRun(() -> {
                     int remaining = counter.decrementAndGet();
                     if (remaining == 0) {
                         long endTime = System.currentTimeMillis();
                         message(plugin,sender, Message.COMMAND_CONVERTER_COMPLETE_ALL, "time", TimerBuilder.formatTimeAuto(endTime-startTime));
-                        converterSettings.restoreBackup();
                     }
                 });
             }
@@ -74,15 +80,16 @@ public class CraftEngineConverterCommandConvert extends VCommand {
             Optional<Converter> optionalConverter = plugin.getConverter(targetPlugin);
             if (optionalConverter.isPresent()){
                 long startTime = System.currentTimeMillis();
-                message(plugin,sender, Message.COMMAND_CONVERTER_START, "plugin", targetPlugin);
                 Converter converter = optionalConverter.get();
-                ConverterSettings converterSettings = converter.getSettings();
-                converterSettings.createBackup();
-                CompletableFuture<Void> voidCompletableFuture = processConverter(converter, converterOption, Optional.ofNullable(this.player), dryRun, threads);
-                voidCompletableFuture.thenRun(() -> {
+                Optional<CompletableFuture<Void>> conversion = processConverter(converter, converterOption, Optional.ofNullable(this.player), dryRun, threads, fullRebuild);
+                if (conversion.isEmpty()) {
+                    message(plugin,sender, Message.COMMAND_CONVERTER_ALREADY_RUNNING, "plugin", targetPlugin);
+                    return CommandType.SUCCESS;
+                }
+                message(plugin,sender, Message.COMMAND_CONVERTER_START, "plugin", targetPlugin);
+                conversion.get().thenRun(() -> {
                     long endTime = System.currentTimeMillis();
                     message(plugin,sender, Message.COMMAND_CONVERTER_COMPLETE, "plugin", targetPlugin, "time", TimerBuilder.formatTimeAuto(endTime-startTime));
-                    converterSettings.restoreBackup();
                 });
             } else {
                 message(plugin,sender, Message.COMMAND_CONVERTER_NOT_FOUND, "plugin", targetPlugin);
@@ -91,18 +98,27 @@ public class CraftEngineConverterCommandConvert extends VCommand {
         return CommandType.SUCCESS;
     }
 
-    private CompletableFuture<Void> processConverter(Converter converter, ConverterOptions converterOption, Optional<Player> player, boolean dryRun, int threads) {
-        ConverterSettings converterSettings = converter.getSettings();
-        converterSettings.setDryRunEnabled(dryRun);
-        converterSettings.setThreadCount(threads);
-        return switch (converterOption){
-            case ALL -> converter.convertAll(player);
-            case ITEMS -> converter.convertItems(true, player);
-            case PACKS -> converter.convertPack(true, player);
-            case EMOJIS -> converter.convertEmojis(true, player);
-            case IMAGES -> converter.convertImages(true, player);
-            case LANGUAGES -> converter.convertLanguages(true, player);
-            case SOUNDS -> converter.convertSounds(true, player);
-        };
+    /**
+     * @return the conversion, or empty if the converter is already converting
+     */
+    private Optional<CompletableFuture<Void>> processConverter(Converter converter, ConverterOptions converterOption, Optional<Player> player, boolean dryRun, int threads, boolean fullRebuild) {
+        return converter.tryConvert(() -> {
+            ConverterSettings converterSettings = converter.getSettings();
+            converterSettings.createBackup();
+            converterSettings.setDryRunEnabled(dryRun);
+            converterSettings.setThreadCount(threads);
+            converterSettings.setFullRebuildEnabled(fullRebuild);
+            CompletableFuture<Void> conversion = switch (converterOption){
+                case ALL -> converter.convertAll(player);
+                case ITEMS -> converter.convertItems(true, player);
+                case PACKS -> converter.convertPack(true, player);
+                case EMOJIS -> converter.convertEmojis(true, player);
+                case IMAGES -> converter.convertImages(true, player);
+                case LANGUAGES -> converter.convertLanguages(true, player);
+                case SOUNDS -> converter.convertSounds(true, player);
+            };
+            // Restored before the converter accepts another run
+            return conversion.whenComplete((ignored, error) -> converterSettings.restoreBackup());
+        });
     }
 }
@@ -1,6 +1,7 @@
 package fr.robie.craftengineconverter.command;
 
 import fr.robie.craftengineconverter.CraftEngineConverter;
+import fr.robie.craftengineconverter.common.CraftEngineImageUtils;
 import fr.robie.craftengineconverter.common.builder.TimerBuilder;
 import fr.robie.craftengineconverter.common.format.Message;
 import fr.robie.craftengineconverter.utils.command.CommandType;
@@ -20,6 +21,7 @@ public class CraftEngineConverterCommandReload extends VCommand {
         long startTime = System.currentTimeMillis();
         plugin.reloadConfig();
         plugin.reloadFiles();
+        CraftEngineImageUtils.rebuildRenderTable();
         long endTime = System.currentTimeMillis();
         message(plugin,sender, Message.COMMAND_RELOAD_SUCCESS,"time",TimerBuilder.formatTimeAuto(endTime-startTime));
         return CommandType.SUCCESS;
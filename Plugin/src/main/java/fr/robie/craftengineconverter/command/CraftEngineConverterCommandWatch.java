@@ -0,0 +1,41 @@
+package fr.robie.craftengineconverter.command;
+
+import fr.robie.craftengineconverter.CraftEngineConverter;
+import fr.robie.craftengineconverter.common.format.Message;
+import fr.robie.craftengineconverter.common.logger.Logger;
+import fr.robie.craftengineconverter.converter.Converter;
+import fr.robie.craftengineconverter.utils.command.CommandType;
+import fr.robie.craftengineconverter.utils.command.VCommand;
+import fr.robie.craftengineconverter.utils.permission.Permission;
+
+import java.io.IOException;
+import java.util.Optional;
+
+public class CraftEngineConverterCommandWatch extends VCommand {
+    public CraftEngineConverterCommandWatch(CraftEngineConverter plugin) {
+        super(plugin);
+        this.setPermission(Permission.COMMAND_WATCH);
+        this.setDescription(Message.DESCRIPTION_COMMAND_WATCH);
+        this.addSubCommand("watch");
+        this.addRequireArg("plugin", (sender, args) -> this.plugin.getConverterNames());
+    }
+
+    @Override
+    protected CommandType perform(CraftEngineConverter plugin) {
+        String targetPlugin = this.argAsString(0);
+        Optional<Converter> optionalConverter = plugin.getConverter(targetPlugin);
+        if (optionalConverter.isEmpty()) {
+            message(plugin, sender, Message.COMMAND_CONVERTER_NOT_FOUND, "plugin", targetPlugin);
+            return CommandType.SUCCESS;
+        }
+
+        try {
+            boolean watching = plugin.toggleWatcher(optionalConverter.get());
+            message(plugin, sender, watching ? Message.COMMAND_WATCH_START : Message.COMMAND_WATCH_STOP, "plugin", targetPlugin);
+        } catch (IOException e) {
+            Logger.showException("Failed to watch " + targetPlugin + " sources", e);
+            message(plugin, sender, Message.COMMAND_WATCH_ERROR, "plugin", targetPlugin);
+        }
+        return CommandType.SUCCESS;
+    }
+}
@@ -5,6 +5,7 @@ import fr.robie.craftengineconverter.common.configuration.ConverterSettings;
 public class BasicConverterSettings implements ConverterSettings {
     private boolean dryRun = false;
     private int threadCount = 1;
+    private boolean fullRebuild = false;
 
     private ConverterSettings backupSettings = null;
 
@@ -18,11 +19,17 @@ public class BasicConverterSettings implements ConverterSettings {
         return this.threadCount;
     }
 
+    @Override
+    public boolean fullRebuildEnabled() {
+        return this.fullRebuild;
+    }
+
     @Override
     public void createBackup() {
         this.backupSettings = new BasicConverterSettings()
                 .setDryRunEnabled(this.dryRun)
-                .setThreadCount(this.threadCount);
+                .setThreadCount(this.threadCount)
+                .setFullRebuildEnabled(this.fullRebuild);
     }
 
     @Override
@@ -30,6 +37,7 @@ public class BasicConverterSettings implements ConverterSettings {
         if (this.backupSettings != null) {
             this.dryRun = this.backupSettings.dryRunEnabled();
             this.threadCount = this.backupSettings.threadCount();
+            this.fullRebuild = this.backupSettings.fullRebuildEnabled();
             this.backupSettings = null;
         }
     }
@@ -46,5 +54,11 @@ public class BasicConverterSettings implements ConverterSettings {
         return this;
     }
 
+    @Override
+    public ConverterSettings setFullRebuildEnabled(boolean enabled) {
+        this.fullRebuild = enabled;
+        return this;
+    }
+
 
 }
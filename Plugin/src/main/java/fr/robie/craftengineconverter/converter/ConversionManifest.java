@@ -0,0 +1,256 @@
+package fr.robie.craftengineconverter.converter;
+
+import com.google.gson.Gson;
+import fr.robie.craftengineconverter.common.ImageConversion;
+import fr.robie.craftengineconverter.common.logger.LogType;
+import fr.robie.craftengineconverter.common.logger.Logger;
+import fr.robie.craftengineconverter.utils.save.DiscUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers, for one conversion stage, which sources were converted and what they produced, so that the next
+ * run only reconverts what changed.
+ * <p>
+ * Each source is identified by a key (usually its path) and recorded with its size, a cheap change stamp
+ * (modification time for files, CRC for ZIP entries) and optionally a content hash. A source is considered
+ * unchanged when its size and stamp match, or when only the stamp differs but the content hash is the same.
+ * The whole manifest is discarded when its fingerprint (plugin version, configuration, ...) changes.
+ * <p>
+ * The manifest is safe to use from several worker threads.
+ */
+public final class ConversionManifest {
+    private static final int FORMAT_VERSION = 1;
+
+    private int formatVersion = FORMAT_VERSION;
+    private String fingerprint = "";
+    private Map<String, Entry> sources = new ConcurrentHashMap<>();
+
+    private transient File file;
+    private transient File outputRoot;
+    private transient boolean reusable;
+    private transient Set<String> seen = ConcurrentHashMap.newKeySet();
+
+    private ConversionManifest() {
+    }
+
+    /**
+     * Loads the manifest stored in {@code file}. When the file is missing, unreadable, or was written with another
+     * fingerprint, an empty manifest is returned and {@link #isReusable()} is false.
+     *
+     * @param outputRoot directory the recorded outputs are relative to
+     * @param reuse      false to ignore the stored state and record a fresh one (full rebuild)
+     */
+    public static @NotNull ConversionManifest load(@NotNull Gson gson, @NotNull File file, @NotNull File outputRoot,
+                                                   @NotNull String fingerprint, boolean reuse) {
+        ConversionManifest manifest = null;
+        if (reuse && file.exists()) {
+            try {
+                manifest = gson.fromJson(DiscUtils.read(file), ConversionManifest.class);
+            } catch (Exception e) {
+                Logger.debug("Failed to read conversion manifest " + file.getPath() + ": " + e.getMessage(), LogType.WARNING);
+            }
+        }
+
+        boolean reusable = manifest != null && manifest.formatVersion == FORMAT_VERSION
+                && fingerprint.equals(manifest.fingerprint) && manifest.sources != null;
+        if (!reusable) {
+            manifest = new ConversionManifest();
+        } else {
+            manifest.sources = new ConcurrentHashMap<>(manifest.sources);
+        }
+        manifest.fingerprint = fingerprint;
+        manifest.file = file;
+        manifest.outputRoot = outputRoot;
+        manifest.reusable = reusable;
+        manifest.seen = ConcurrentHashMap.newKeySet();
+        return manifest;
+    }
+
+    public void save(@NotNull Gson gson) {
+        File parent = this.file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            Logger.debug("Failed to create conversion manifest directory: " + parent.getAbsolutePath(), LogType.ERROR);
+            return;
+        }
+        if (!DiscUtils.writeCatch(this.file, gson.toJson(this))) {
+            Logger.debug("Failed to save conversion manifest: " + this.file.getAbsolutePath(), LogType.ERROR);
+        }
+    }
+
+    /**
+     * @return true if the previous state was loaded, so outputs already on disk can be kept
+     */
+    public boolean isReusable() {
+        return this.reusable;
+    }
+
+    /**
+     * Looks up a source file, see {@link #findUnchanged(String, long, long, Supplier)}.
+     * The content hash is only computed when the size matches but the modification time does not.
+     */
+    public @Nullable Entry findUnchanged(@NotNull String key, @NotNull File source) {
+        return findUnchanged(key, source.length(), source.lastModified(), () -> hash(source));
+    }
+
+    /**
+     * Returns the recorded entry of a source if the source did not change since it was recorded and every output
+     * it produced is still on disk. The source is then marked as seen for this run.
+     *
+     * @param stamp       cheap change marker, e.g. the modification time
+     * @param contentHash computes the content hash, or null if the stamp is authoritative
+     */
+    public @Nullable Entry findUnchanged(@NotNull String key, long size, long stamp, @Nullable Supplier<String> contentHash) {
+        if (!this.reusable) return null;
+        Entry entry = this.sources.get(key);
+        if (entry == null || entry.size != size) return null;
+
+        if (entry.stamp != stamp) {
+            if (contentHash == null || entry.hash == null || !entry.hash.equals(contentHash.get())) {
+                return null;
+            }
+            entry.stamp = stamp;
+        }
+
+        for (String output : entry.outputs) {
+            if (!new File(this.outputRoot, output).exists()) {
+                return null;
+            }
+        }
+        this.seen.add(key);
+        return entry;
+    }
+
+    /**
+     * Records a source converted during this run, replacing any previous entry.
+     */
+    public void record(@NotNull String key, @NotNull Entry entry) {
+        this.sources.put(key, entry);
+        this.seen.add(key);
+    }
+
+    /**
+     * Creates an entry for a source file, hashing its content.
+     */
+    public @NotNull Entry newEntry(@NotNull File source) {
+        return new Entry(source.length(), source.lastModified(), hash(source));
+    }
+
+    public @NotNull String relativize(@NotNull File output) {
+        return this.outputRoot.toPath().relativize(output.toPath()).toString().replace("\\", "/");
+    }
+
+    /**
+     * Forgets every source that was not seen during this run and deletes the outputs they produced, unless a
+     * source seen during this run produced the same output.
+     *
+     * @return the number of forgotten sources
+     */
+    public int removeUnseen() {
+        Set<String> claimedOutputs = new HashSet<>();
+        List<String> unseen = new ArrayList<>();
+        for (Map.Entry<String, Entry> source : this.sources.entrySet()) {
+            if (this.seen.contains(source.getKey())) {
+                claimedOutputs.addAll(source.getValue().outputs);
+            } else {
+                unseen.add(source.getKey());
+            }
+        }
+
+        for (String key : unseen) {
+            Entry entry = this.sources.remove(key);
+            if (entry == null) continue;
+            for (String output : entry.outputs) {
+                if (claimedOutputs.contains(output)) continue;
+                File outputFile = new File(this.outputRoot, output);
+                if (outputFile.exists() && !outputFile.delete()) {
+                    Logger.debug("Failed to delete stale converted file: " + outputFile.getAbsolutePath(), LogType.ERROR);
+                }
+            }
+        }
+        return unseen.size();
+    }
+
+    public static @Nullable String hash(@NotNull File file) {
+        try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+            MessageDigest digest = newDigest();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = inputStream.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public static @NotNull String hash(@NotNull String value) {
+        return HexFormat.of().formatHex(newDigest().digest(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * State of one source and what its conversion produced. Besides the output files, it keeps whatever must be
+     * replayed when the source is skipped: pack mappings for items, glyph registrations for emojis and images.
+     */
+    public static final class Entry {
+        private final long size;
+        private long stamp;
+        private final String hash;
+        private final List<String> outputs = new ArrayList<>();
+        private final List<Converter.PackMapping> packMappings = new ArrayList<>();
+        private final Map<String, ImageConversion> glyphs = new LinkedHashMap<>();
+
+        public Entry(long size, long stamp, @Nullable String hash) {
+            this.size = size;
+            this.stamp = stamp;
+            this.hash = hash;
+        }
+
+        public Entry addOutput(@NotNull String output) {
+            this.outputs.add(output);
+            return this;
+        }
+
+        public Entry addPackMappings(@NotNull Collection<Converter.PackMapping> mappings) {
+            this.packMappings.addAll(mappings);
+            return this;
+        }
+
+        public Entry addGlyph(@NotNull String name, @NotNull ImageConversion conversion) {
+            this.glyphs.put(name, conversion);
+            return this;
+        }
+
+        public List<String> getOutputs() {
+            return this.outputs;
+        }
+
+        public List<Converter.PackMapping> getPackMappings() {
+            return this.packMappings;
+        }
+
+        public Map<String, ImageConversion> getGlyphs() {
+            return this.glyphs;
+        }
+    }
+}
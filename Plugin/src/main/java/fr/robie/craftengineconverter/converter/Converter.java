@@ -1,25 +1,38 @@
 package fr.robie.craftengineconverter.converter;
 
 import fr.robie.craftengineconverter.CraftEngineConverter;
+import fr.robie.craftengineconverter.common.CraftEngineImageUtils;
+import fr.robie.craftengineconverter.common.configuration.Configuration;
 import fr.robie.craftengineconverter.common.configuration.ConverterSettings;
+import fr.robie.craftengineconverter.common.enums.ConverterOptions;
 import fr.robie.craftengineconverter.common.logger.LogType;
 import fr.robie.craftengineconverter.common.logger.Logger;
 import fr.robie.craftengineconverter.utils.ConfigFile;
 import fr.robie.craftengineconverter.utils.YamlUtils;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public abstract class Converter extends YamlUtils {
     protected final CraftEngineConverter plugin;
     protected final String converterName;
     protected final ConverterSettings settings;
-    private final Map<String, List<PackMapping>> packMappings = new HashMap<>();
+    private final PackMappingRegistry packMappings = new PackMappingRegistry();
+    private final AtomicBoolean converting = new AtomicBoolean(false);
 
     public Converter(CraftEngineConverter plugin, String converterName) {
         super(plugin);
@@ -28,17 +41,66 @@ public abstract class Converter extends YamlUtils {
         this.settings = new BasicConverterSettings();
     }
 
+    /**
+     * Runs every stage of the converter. Stages that do not depend on each other run concurrently; the pack
+     * stage waits for the items stage to publish its mappings, and images wait for emojis since both register
+     * into the shared glyph registry.
+     */
     public CompletableFuture<Void> convertAll(Optional<Player> player) {
-        return this.plugin.getFoliaCompatibilityManager().runAsyncComplatable(() -> {
-            convertItems(false, player);
-            convertEmojis(false, player);
-            convertImages(false, player);
-            convertLanguages(false, player);
-            convertSounds(false, player);
-            convertPack(false, player);
-        });
+        return convertStages(EnumSet.complementOf(EnumSet.of(ConverterOptions.ALL)), player);
+    }
+
+    /**
+     * Runs the given stages with the same ordering rules as {@link #convertAll(Optional)}. A dependency only
+     * applies when both stages are part of the run.
+     */
+    public CompletableFuture<Void> convertStages(Set<ConverterOptions> stages, Optional<Player> player) {
+        StageScheduler scheduler = new StageScheduler(this.converterName);
+        addStage(scheduler, stages, ConverterOptions.ITEMS, () -> convertItems(false, player));
+        addStage(scheduler, stages, ConverterOptions.EMOJIS, () -> convertEmojis(false, player));
+        addStage(scheduler, stages, ConverterOptions.IMAGES, () -> convertImages(false, player), ConverterOptions.EMOJIS);
+        addStage(scheduler, stages, ConverterOptions.LANGUAGES, () -> convertLanguages(false, player));
+        addStage(scheduler, stages, ConverterOptions.SOUNDS, () -> convertSounds(false, player));
+        addStage(scheduler, stages, ConverterOptions.PACKS, () -> convertPack(false, player), ConverterOptions.ITEMS);
+        return scheduler.run(this.plugin.getFoliaCompatibilityManager()::runAsyncComplatable);
+    }
+
+    private void addStage(StageScheduler scheduler, Set<ConverterOptions> stages, ConverterOptions option, Runnable task, ConverterOptions... dependsOn) {
+        if (!stages.contains(option)) return;
+        ConverterOptions[] dependencies = Arrays.stream(dependsOn).filter(stages::contains).toArray(ConverterOptions[]::new);
+        scheduler.stage(option, task, dependencies);
+    }
+
+    /**
+     * Starts {@code conversion} unless another conversion of this converter is running. Every run shares the
+     * settings, manifests and output folders of the converter, so manual conversions, the startup conversion and
+     * the watcher must all go through this method.
+     *
+     * @param conversion starts the conversion, e.g. {@code () -> converter.convertAll(player)}. Settings changed
+     *                   for the run must be restored by the returned future itself, before the next run can start
+     * @return the running conversion, or empty if another one is in progress
+     */
+    public Optional<CompletableFuture<Void>> tryConvert(@NotNull Supplier<CompletableFuture<Void>> conversion) {
+        if (!this.converting.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(conversion.get().whenComplete((ignored, error) -> this.converting.set(false)));
+        } catch (RuntimeException e) {
+            this.converting.set(false);
+            throw e;
+        }
     }
 
+    public boolean isConverting() {
+        return this.converting.get();
+    }
+
+    /**
+     * @return the files and folders each stage reads, used to reconvert a stage when its sources change
+     */
+    public abstract Map<ConverterOptions, List<File>> getWatchedSources();
+
     public abstract CompletableFuture<Void> convertItems(boolean async, Optional<Player> player);
 
     public abstract CompletableFuture<Void> convertEmojis(boolean async, Optional<Player> player);
@@ -69,88 +131,156 @@ public abstract class Converter extends YamlUtils {
         }
     }
 
-    public void addPackMapping(@NotNull String namespaceSource, @NotNull String originalPath, @NotNull String namespaceTarget, @NotNull String targetPath){
-        PackMapping mapping = new PackMapping(namespaceSource, originalPath, namespaceTarget, targetPath);
-        this.packMappings.computeIfAbsent(namespaceSource, k -> new ArrayList<>()).add(mapping);
-    }
-
-    public PackMapping resolvePackMapping(@NotNull String namespaceSource, @NotNull String originalPath){
-        List<PackMapping> mappings = this.packMappings.get(namespaceSource);
-        if (mappings == null) return null;
-
-        PackMapping bestMatch = null;
-        int bestMatchLength = -1;
-
-        for (PackMapping mapping : mappings) {
-            if (mapping.matches(originalPath)) {
-                int matchLength = mapping.originalPath().length();
-                if (matchLength > bestMatchLength) {
-                    bestMatchLength = matchLength;
-                    bestMatch = mapping;
+    /**
+     * Runs {@code task} for every source on a work-stealing pool sized by {@link ConverterSettings#threadCount()}.
+     * Results are returned in the order of {@code sources}, whatever order the tasks finished in, so callers can
+     * merge them deterministically. A task that throws is logged and contributes no result.
+     */
+    protected <S, R> List<R> processInParallel(@NotNull String stageName, @NotNull List<S> sources, @NotNull Function<S, R> task) {
+        List<R> results = new ArrayList<>(sources.size());
+        int threads = Math.min(this.settings.threadCount(), sources.size());
+        if (threads <= 1) {
+            for (S source : sources) {
+                try {
+                    results.add(task.apply(source));
+                } catch (Exception e) {
+                    Logger.showException("Error during " + this.converterName + " " + stageName + " conversion", e);
                 }
             }
+            return results;
         }
 
-        if (bestMatch != null) {
-            String resolvedPath = bestMatch.apply(originalPath);
-            return new PackMapping(namespaceSource, originalPath, bestMatch.namespaceTarget(), resolvedPath);
+        ForkJoinPool pool = new ForkJoinPool(threads, workerThreadFactory(stageName), null, false);
+        try {
+            List<ForkJoinTask<R>> tasks = new ArrayList<>(sources.size());
+            for (S source : sources) {
+                tasks.add(pool.submit(() -> task.apply(source)));
+            }
+            for (ForkJoinTask<R> forkJoinTask : tasks) {
+                try {
+                    results.add(forkJoinTask.join());
+                } catch (Exception e) {
+                    Logger.showException("Error during " + this.converterName + " " + stageName + " conversion", e);
+                }
+            }
+        } finally {
+            pool.shutdown();
         }
+        return results;
+    }
 
-        return null;
+    /**
+     * Creates a fixed pool for stages that need more control than {@link #processInParallel}, e.g. to bound the
+     * work in flight. Its threads are named and see the plugin classes like the {@code processInParallel} ones.
+     * The caller must shut it down.
+     */
+    protected ExecutorService newWorkerPool(@NotNull String stageName, int threads) {
+        ClassLoader pluginClassLoader = getClass().getClassLoader();
+        AtomicInteger index = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, workerThreadName(stageName, index.getAndIncrement()));
+            thread.setContextClassLoader(pluginClassLoader);
+            return thread;
+        });
     }
 
-    protected void populateQueue(File baseDir, File currentDir, Queue<ConfigFile> toConvert) {
-        File[] files = currentDir.listFiles();
-        if (files == null) return;
+    private ForkJoinPool.ForkJoinWorkerThreadFactory workerThreadFactory(String stageName) {
+        ClassLoader pluginClassLoader = getClass().getClassLoader();
+        return pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(workerThreadName(stageName, thread.getPoolIndex()));
+            thread.setContextClassLoader(pluginClassLoader);
+            return thread;
+        };
+    }
 
-        for (File itemFile : files) {
-            if (itemFile.isDirectory()) {
-                populateQueue(baseDir, itemFile, toConvert);
-                continue;
-            }
+    private String workerThreadName(String stageName, int index) {
+        return "CraftEngineConverter-" + this.converterName + "-" + stageName + "-" + index;
+    }
 
-            String fileName = itemFile.getName();
-            if (!fileName.endsWith(".yml")) {
-                continue;
-            }
+    /**
+     * Opens the incremental conversion manifest of a stage, stored under {@code converted/<name>/manifest}.
+     * The previous state is only reused when incremental conversion is enabled, the run is neither a dry run nor
+     * a full rebuild, and nothing that affects the output changed: plugin version and the given
+     * {@code fingerprintParts}, which hold the configuration options the stage reads. Other options can change
+     * without reconverting the stage. Otherwise the manifest starts empty and the stage converts everything.
+     *
+     * @param outputRoot directory the stage writes to
+     */
+    protected ConversionManifest openManifest(@NotNull String stageName, @NotNull File outputRoot, @NotNull String... fingerprintParts) {
+        File manifestFile = new File(this.plugin.getDataFolder(), "converted/" + this.converterName + "/manifest/" + stageName + ".json");
+        boolean reuse = Configuration.incrementalConversion && !this.settings.dryRunEnabled() && !this.settings.fullRebuildEnabled();
+        return ConversionManifest.load(this.plugin.getGson(), manifestFile, outputRoot, manifestFingerprint(stageName, fingerprintParts), reuse);
+    }
 
-            try {
-                YamlConfiguration config = getConfig(itemFile);
-                toConvert.add(new ConfigFile(itemFile, baseDir, config));
-            } catch (Exception e) {
-                Logger.debug("Failed to load config file: " + fileName, LogType.ERROR);
-            }
+    /**
+     * Removes the outputs of the sources that disappeared since the previous run and saves the manifest.
+     * Does nothing on a dry run or when incremental conversion is disabled.
+     */
+    protected void saveManifest(@NotNull String stageName, @NotNull ConversionManifest manifest) {
+        if (this.settings.dryRunEnabled() || !Configuration.incrementalConversion) return;
+        int removed = manifest.removeUnseen();
+        if (removed > 0) {
+            Logger.debug("Removed the outputs of " + removed + " deleted " + this.converterName + " " + stageName + " source(s)");
         }
+        manifest.save(this.plugin.getGson());
     }
 
-    public record PackMapping(String namespaceSource, String originalPath, String namespaceTarget, String targetPath){
-        public boolean matches(String path) {
-            if (originalPath.contains("*")) {
-                String regex = originalPath.replace("*", ".*");
-                return path.matches(regex);
-            } else {
-                return path.equals(originalPath) || path.startsWith(originalPath + "/");
-            }
+    /**
+     * Stores the glyph registry so that glyph tags keep resolving after a restart. Does nothing on a dry run.
+     */
+    protected void saveGlyphIndex() {
+        if (this.settings.dryRunEnabled()) return;
+        try {
+            CraftEngineImageUtils.saveIndex(this.plugin.getGlyphIndexFile().toPath());
+        } catch (IOException e) {
+            Logger.debug("Failed to save the glyph index: " + e.getMessage(), LogType.ERROR);
         }
+    }
 
-        public String apply(String path) {
-            if (originalPath.contains("*")) {
-                String regex = originalPath.replace("*", "(.*)");
-                String matched = path.replaceFirst(regex, "$1");
-                if (targetPath.contains("$1")) {
-                    return targetPath.replace("$1", matched);
-                } else {
-                    return targetPath + "/" + matched;
-                }
-            } else {
-                if (path.equals(originalPath)) {
-                    return targetPath;
-                } else if (path.startsWith(originalPath + "/")) {
-                    String remainder = path.substring(originalPath.length() + 1);
-                    return targetPath + "/" + remainder;
-                }
+    private String manifestFingerprint(String stageName, String... fingerprintParts) {
+        StringBuilder fingerprint = new StringBuilder()
+                .append(this.plugin.getPluginMeta().getVersion()).append('\n')
+                .append(this.converterName).append('\n')
+                .append(stageName);
+        for (String part : fingerprintParts) {
+            fingerprint.append('\n').append(part);
+        }
+        return ConversionManifest.hash(fingerprint.toString());
+    }
+
+    public PackMappingRegistry getPackMappings() {
+        return this.packMappings;
+    }
+
+    /**
+     * Lists the {@code .yml} files below {@code baseDir}, sorted by path. Files are not parsed here: each
+     * {@link ConfigFile} is loaded by the worker that converts it, so only the files being converted are in memory.
+     */
+    protected List<ConfigFile> discoverConfigFiles(File baseDir) {
+        List<ConfigFile> configFiles = new ArrayList<>();
+        collectConfigFiles(baseDir, baseDir, configFiles);
+        configFiles.sort(Comparator.comparing(configFile -> configFile.sourceFile().getPath()));
+        return configFiles;
+    }
+
+    private void collectConfigFiles(File baseDir, File currentDir, List<ConfigFile> configFiles) {
+        File[] files = currentDir.listFiles();
+        if (files == null) return;
+
+        for (File file : files) {
+            if (file.isDirectory()) {
+                collectConfigFiles(baseDir, file, configFiles);
+            } else if (file.getName().endsWith(".yml")) {
+                configFiles.add(new ConfigFile(file, baseDir));
             }
-            return path;
         }
     }
+
+    /**
+     * Moves the assets found under {@code originalPath} to {@code targetPath}. Mappings are resolved through
+     * {@link PackMappingIndex}.
+     */
+    public record PackMapping(String namespaceSource, String originalPath, String namespaceTarget, String targetPath){
+    }
 }
@@ -0,0 +1,222 @@
+package fr.robie.craftengineconverter.converter;
+
+import fr.robie.craftengineconverter.common.configuration.Configuration;
+import fr.robie.craftengineconverter.common.enums.ConverterOptions;
+import fr.robie.craftengineconverter.common.logger.LogType;
+import fr.robie.craftengineconverter.common.logger.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Watches the sources of a {@link Converter} and reconverts them when they change.
+ * <p>
+ * Events are collected until the sources have been quiet for {@link Configuration#watchDebounceMs}, then only the
+ * stages whose sources changed are run. Within a stage, the incremental conversion manifest limits the work to the
+ * files that actually changed. Changes made while a conversion is running are picked up by the next one, and a
+ * conversion started by someone else (e.g. {@code /cec convert}) postpones the pending stages until it is over.
+ */
+public class ConverterWatcher {
+    private final Converter converter;
+    private final Map<ConverterOptions, List<Path>> sources = new EnumMap<>(ConverterOptions.class);
+    private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+    private final Set<Path> watchedPaths = new HashSet<>();
+    private final Set<ConverterOptions> pendingStages = EnumSet.noneOf(ConverterOptions.class);
+
+    private WatchService watchService;
+    private Thread thread;
+    private volatile boolean running = false;
+    private CompletableFuture<Void> currentRun = CompletableFuture.completedFuture(null);
+    private long lastEventTime = 0;
+
+    public ConverterWatcher(@NotNull Converter converter) {
+        this.converter = converter;
+    }
+
+    /**
+     * Registers the sources of the converter and starts the watch thread.
+     *
+     * @throws IOException if the file system cannot be watched
+     */
+    public synchronized void start() throws IOException {
+        if (this.running) return;
+
+        this.sources.clear();
+        for (Map.Entry<ConverterOptions, List<File>> entry : this.converter.getWatchedSources().entrySet()) {
+            List<Path> paths = new ArrayList<>();
+            for (File file : entry.getValue()) {
+                paths.add(file.toPath().toAbsolutePath().normalize());
+            }
+            this.sources.put(entry.getKey(), paths);
+        }
+
+        // Keys of a previous run belong to a closed watch service
+        this.watchedDirectories.clear();
+        this.watchedPaths.clear();
+        this.watchService = FileSystems.getDefault().newWatchService();
+        try {
+            for (List<Path> paths : this.sources.values()) {
+                for (Path path : paths) {
+                    // The parent is watched as well, to see single-file sources and folders being created or replaced
+                    Path parent = path.getParent();
+                    if (parent != null && Files.isDirectory(parent)) {
+                        register(parent);
+                    }
+                    if (Files.isDirectory(path)) {
+                        registerRecursively(path);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            this.watchService.close();
+            throw e;
+        }
+
+        this.running = true;
+        this.thread = new Thread(this::watchLoop, "CraftEngineConverter-" + this.converter.getName() + "-watch");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    public synchronized void stop() {
+        if (!this.running) return;
+        this.running = false;
+        try {
+            this.watchService.close();
+        } catch (IOException e) {
+            Logger.debug("Failed to close watch service of " + this.converter.getName() + ": " + e.getMessage(), LogType.ERROR);
+        }
+        this.thread.interrupt();
+    }
+
+    public boolean isRunning() {
+        return this.running;
+    }
+
+    private void watchLoop() {
+        try {
+            while (this.running) {
+                WatchKey key = this.pendingStages.isEmpty()
+                        ? this.watchService.take()
+                        : this.watchService.poll(Math.max(1, Configuration.watchDebounceMs), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    handleKey(key);
+                    continue;
+                }
+
+                boolean quiet = System.currentTimeMillis() - this.lastEventTime >= Configuration.watchDebounceMs;
+                if (quiet && this.currentRun.isDone()) {
+                    runPendingStages();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // Stopped
+        } catch (Exception e) {
+            Logger.showException("Error while watching " + this.converter.getName() + " sources", e);
+            this.running = false;
+        }
+    }
+
+    private void handleKey(WatchKey key) {
+        Path directory = this.watchedDirectories.get(key);
+        if (directory == null) {
+            key.cancel();
+            return;
+        }
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                addStagesFor(directory, true);
+                continue;
+            }
+
+            Path changed = directory.resolve((Path) event.context());
+            if (event.kind() == ENTRY_CREATE && Files.isDirectory(changed) && isSource(changed)) {
+                try {
+                    registerRecursively(changed);
+                } catch (IOException e) {
+                    Logger.debug("Failed to watch new directory " + changed + ": " + e.getMessage(), LogType.ERROR);
+                }
+            }
+            addStagesFor(changed, false);
+        }
+
+        if (!key.reset()) {
+            Path removed = this.watchedDirectories.remove(key);
+            if (removed != null) {
+                this.watchedPaths.remove(removed);
+            }
+        }
+    }
+
+    private void runPendingStages() {
+        Set<ConverterOptions> stages = EnumSet.copyOf(this.pendingStages);
+        this.pendingStages.clear();
+        // Pack mappings come from the items, so an item change may move pack assets
+        if (stages.contains(ConverterOptions.ITEMS)) {
+            stages.add(ConverterOptions.PACKS);
+        }
+
+        long startTime = System.currentTimeMillis();
+        Optional<CompletableFuture<Void>> run = this.converter.tryConvert(() -> this.converter.convertStages(stages, Optional.empty()));
+        if (run.isEmpty()) {
+            // Tried again after the next debounce delay
+            this.pendingStages.addAll(stages);
+            this.lastEventTime = startTime;
+            Logger.debug("A conversion of " + this.converter.getName() + " is running, postponing the reconversion of " + stages);
+            return;
+        }
+        Logger.info("Changes detected in " + this.converter.getName() + " sources, reconverting " + stages);
+        this.currentRun = run.get()
+                .thenRun(() -> Logger.info("Reconverted " + this.converter.getName() + " " + stages + " in " + (System.currentTimeMillis() - startTime) + "ms", LogType.SUCCESS));
+    }
+
+    /**
+     * @param includeChildren true when the exact changes are unknown and everything below {@code path} may have changed
+     */
+    private void addStagesFor(Path path, boolean includeChildren) {
+        for (Map.Entry<ConverterOptions, List<Path>> entry : this.sources.entrySet()) {
+            for (Path source : entry.getValue()) {
+                if (path.startsWith(source) || (includeChildren && source.startsWith(path))) {
+                    this.pendingStages.add(entry.getKey());
+                    this.lastEventTime = System.currentTimeMillis();
+                    break;
+                }
+            }
+        }
+    }
+
+    private boolean isSource(Path path) {
+        for (List<Path> paths : this.sources.values()) {
+            for (Path source : paths) {
+                if (path.startsWith(source)) return true;
+            }
+        }
+        return false;
+    }
+
+    private void registerRecursively(Path root) throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public @NotNull FileVisitResult preVisitDirectory(@NotNull Path dir, @NotNull BasicFileAttributes attrs) throws IOException {
+                register(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void register(Path directory) throws IOException {
+        if (this.watchedPaths.contains(directory)) return;
+        WatchKey key = directory.register(this.watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        this.watchedDirectories.put(key, directory);
+        this.watchedPaths.add(directory);
+    }
+}
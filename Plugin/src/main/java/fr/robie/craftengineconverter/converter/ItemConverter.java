@@ -3,10 +3,12 @@ package fr.robie.craftengineconverter.converter;
 import fr.robie.craftengineconverter.common.ObjectUtils;
 import fr.robie.craftengineconverter.utils.enums.Template;
 import fr.robie.craftengineconverter.utils.manager.InternalTemplateManager;
+import fr.robie.craftengineconverter.utils.yaml.YamlView;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -15,6 +17,7 @@ public abstract class ItemConverter extends ObjectUtils {
     protected final @NotNull String itemId;
     private final Converter converter;
     private final Map<String,Object> savedModelTemplates = new HashMap<>();
+    private final List<Converter.PackMapping> packMappings = new ArrayList<>();
     public final CraftEngineItemUtils craftEngineItemUtils;
     protected boolean excludeFromInventory = false;
     protected YamlConfiguration fileConfig;
@@ -147,7 +150,7 @@ public abstract class ItemConverter extends ObjectUtils {
         this.assetId = assetId;
     }
 
-    protected String getTexturePath(ConfigurationSection packSection) {
+    protected String getTexturePath(YamlView packSection) {
         List<String> textures = packSection.getStringList("textures");
         if (!textures.isEmpty()) {
             return textures.getFirst();
@@ -180,6 +183,19 @@ public abstract class ItemConverter extends ObjectUtils {
         return this.converter;
     }
 
+    /**
+     * Records a pack mapping produced by this item. Mappings are kept on the item
+     * so that items converted on worker threads never touch the converter directly;
+     * the converter merges them once the whole item stage is done.
+     */
+    protected void addPackMapping(@NotNull String namespaceSource, @NotNull String originalPath, @NotNull String namespaceTarget, @NotNull String targetPath) {
+        this.packMappings.add(new Converter.PackMapping(namespaceSource, originalPath, namespaceTarget, targetPath));
+    }
+
+    public List<Converter.PackMapping> getPackMappings() {
+        return this.packMappings;
+    }
+
     public Map<String,Object> getEffectMap(String effectName,double amplifier,int duration, boolean ambient, boolean show_particles, boolean show_icon){
         return InternalTemplateManager.parseTemplate(Template.MINECRAFT_EFFECT,"%effect_id%",effectName,"%effect_amplifier%",amplifier,"%effect_duration%",
                 duration, "%effect_ambient%", ambient, "%effect_show_particles%", show_particles,
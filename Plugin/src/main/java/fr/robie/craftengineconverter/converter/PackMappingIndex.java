@@ -0,0 +1,190 @@
+package fr.robie.craftengineconverter.converter;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable lookup structure for {@link Converter.PackMapping}s.
+ * <p>
+ * Prefix mappings are stored per namespace in a trie keyed by path segment, so resolving a path only walks as
+ * many nodes as the path has segments. Wildcard mappings are compiled to a {@link Pattern} once. The resolution
+ * rules are the ones of the original linear scan: the mapping with the longest original path wins, and on a tie
+ * the one registered first is kept.
+ */
+public final class PackMappingIndex {
+    public static final PackMappingIndex EMPTY = new PackMappingIndex(Map.of(), List.of());
+
+    private final Map<String, NamespaceIndex> namespaces;
+    private final List<Converter.PackMapping> mappings;
+
+    private PackMappingIndex(Map<String, NamespaceIndex> namespaces, List<Converter.PackMapping> mappings) {
+        this.namespaces = namespaces;
+        this.mappings = mappings;
+    }
+
+    public static @NotNull Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Resolves the mapping that applies to {@code originalPath}.
+     *
+     * @return a mapping whose {@code targetPath} is already rewritten for {@code originalPath}, or null if none applies
+     */
+    public @Nullable Converter.PackMapping resolve(@NotNull String namespaceSource, @NotNull String originalPath) {
+        NamespaceIndex index = this.namespaces.get(namespaceSource);
+        if (index == null) return null;
+
+        Entry best = null;
+        SegmentNode node = index.root;
+        int start = 0;
+        while (node != null) {
+            int end = originalPath.indexOf('/', start);
+            String segment = end < 0 ? originalPath.substring(start) : originalPath.substring(start, end);
+            node = node.children.get(segment);
+            if (node == null) break;
+            if (node.entry != null) best = node.entry;
+            if (end < 0) break;
+            start = end + 1;
+        }
+
+        String wildcardMatch = null;
+        for (WildcardEntry wildcard : index.wildcards) {
+            if (best != null && !wildcard.entry.isBetterThan(best)) continue;
+            Matcher matcher = wildcard.pattern.matcher(originalPath);
+            if (matcher.matches()) {
+                best = wildcard.entry;
+                wildcardMatch = matcher.group(1);
+            }
+        }
+
+        if (best == null) return null;
+        String targetPath = wildcardMatch != null
+                ? applyWildcard(best.mapping.targetPath(), wildcardMatch)
+                : applyPrefix(best.mapping, originalPath);
+        return new Converter.PackMapping(namespaceSource, originalPath, best.mapping.namespaceTarget(), targetPath);
+    }
+
+    public boolean isEmpty() {
+        return this.mappings.isEmpty();
+    }
+
+    public int size() {
+        return this.mappings.size();
+    }
+
+    /**
+     * @return the indexed mappings, in registration order
+     */
+    public @NotNull List<Converter.PackMapping> getMappings() {
+        return this.mappings;
+    }
+
+    private static String applyWildcard(String targetPath, String matched) {
+        if (targetPath.contains("$1")) {
+            return targetPath.replace("$1", matched);
+        }
+        return targetPath + "/" + matched;
+    }
+
+    private static String applyPrefix(Converter.PackMapping mapping, String path) {
+        String originalPath = mapping.originalPath();
+        if (path.length() == originalPath.length()) {
+            return mapping.targetPath();
+        }
+        return mapping.targetPath() + "/" + path.substring(originalPath.length() + 1);
+    }
+
+    private static Pattern compileWildcard(String originalPath) {
+        StringBuilder regex = new StringBuilder();
+        int last = 0;
+        int wildcard;
+        while ((wildcard = originalPath.indexOf('*', last)) >= 0) {
+            if (wildcard > last) regex.append(Pattern.quote(originalPath.substring(last, wildcard)));
+            regex.append("(.*)");
+            last = wildcard + 1;
+        }
+        if (last < originalPath.length()) regex.append(Pattern.quote(originalPath.substring(last)));
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private record Entry(Converter.PackMapping mapping, int order) {
+        boolean isBetterThan(Entry other) {
+            int length = this.mapping.originalPath().length();
+            int otherLength = other.mapping.originalPath().length();
+            return length > otherLength || (length == otherLength && this.order < other.order);
+        }
+    }
+
+    private record WildcardEntry(Entry entry, Pattern pattern) {
+    }
+
+    private record NamespaceIndex(SegmentNode root, List<WildcardEntry> wildcards) {
+    }
+
+    private static final class SegmentNode {
+        private final Map<String, SegmentNode> children = new HashMap<>();
+        private Entry entry;
+    }
+
+    /**
+     * Collects mappings before freezing them into a {@link PackMappingIndex}. Not thread-safe.
+     */
+    public static final class Builder {
+        private final List<Converter.PackMapping> mappings = new ArrayList<>();
+
+        public @NotNull Builder add(@NotNull Converter.PackMapping mapping) {
+            this.mappings.add(mapping);
+            return this;
+        }
+
+        public @NotNull Builder addAll(@NotNull Iterable<Converter.PackMapping> mappings) {
+            for (Converter.PackMapping mapping : mappings) {
+                add(mapping);
+            }
+            return this;
+        }
+
+        public @NotNull PackMappingIndex build() {
+            if (this.mappings.isEmpty()) return EMPTY;
+
+            Map<String, SegmentNode> roots = new HashMap<>();
+            Map<String, List<WildcardEntry>> wildcards = new HashMap<>();
+            for (int order = 0; order < this.mappings.size(); order++) {
+                Converter.PackMapping mapping = this.mappings.get(order);
+                Entry entry = new Entry(mapping, order);
+                String originalPath = mapping.originalPath();
+
+                if (originalPath.contains("*")) {
+                    wildcards.computeIfAbsent(mapping.namespaceSource(), k -> new ArrayList<>())
+                            .add(new WildcardEntry(entry, compileWildcard(originalPath)));
+                    continue;
+                }
+
+                SegmentNode node = roots.computeIfAbsent(mapping.namespaceSource(), k -> new SegmentNode());
+                for (String segment : originalPath.split("/", -1)) {
+                    node = node.children.computeIfAbsent(segment, k -> new SegmentNode());
+                }
+                if (node.entry == null) {
+                    node.entry = entry;
+                }
+            }
+
+            Map<String, NamespaceIndex> namespaces = new HashMap<>();
+            for (Map.Entry<String, SegmentNode> root : roots.entrySet()) {
+                namespaces.put(root.getKey(), new NamespaceIndex(root.getValue(), List.copyOf(wildcards.getOrDefault(root.getKey(), List.of()))));
+            }
+            for (Map.Entry<String, List<WildcardEntry>> wildcard : wildcards.entrySet()) {
+                namespaces.putIfAbsent(wildcard.getKey(), new NamespaceIndex(new SegmentNode(), List.copyOf(wildcard.getValue())));
+            }
+            return new PackMappingIndex(Map.copyOf(namespaces), List.copyOf(this.mappings));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package fr.robie.craftengineconverter.converter;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Thread-safe holder of the pack mappings of a converter.
+ * <p>
+ * Readers always go through {@link #snapshot()}, which returns a frozen {@link PackMappingIndex} without locking;
+ * a snapshot never changes once taken. Writers collect a whole set in an isolated {@link Build} and
+ * {@link Build#publish() publish} it atomically, which is how the item stage hands its mappings over to the pack
+ * stage. Each publish indexes the whole set once.
+ */
+public final class PackMappingRegistry {
+    private final Object lock = new Object();
+    private volatile PackMappingIndex snapshot = PackMappingIndex.EMPTY;
+
+    /**
+     * @return the current frozen view of the registry
+     */
+    public @NotNull PackMappingIndex snapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * Starts collecting a new set of mappings. Nothing is visible to readers until the build is published.
+     */
+    public @NotNull Build newBuild() {
+        return new Build();
+    }
+
+    public void clear() {
+        synchronized (this.lock) {
+            publish(List.of());
+        }
+    }
+
+    private void publish(List<Converter.PackMapping> mappings) {
+        this.snapshot = PackMappingIndex.builder().addAll(mappings).build();
+    }
+
+    /**
+     * Isolated set of mappings owned by a single writer. Not thread-safe.
+     */
+    public final class Build {
+        private final List<Converter.PackMapping> mappings = new ArrayList<>();
+        private boolean published = false;
+
+        private Build() {
+        }
+
+        public @NotNull Build add(@NotNull Converter.PackMapping mapping) {
+            if (this.published) {
+                throw new IllegalStateException("Pack mapping build has already been published");
+            }
+            this.mappings.add(mapping);
+            return this;
+        }
+
+        /**
+         * Replaces every mapping of the registry with the ones of this build, in one atomic swap.
+         */
+        public void publish() {
+            if (this.published) {
+                throw new IllegalStateException("Pack mapping build has already been published");
+            }
+            this.published = true;
+            synchronized (PackMappingRegistry.this.lock) {
+                PackMappingRegistry.this.publish(this.mappings);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package fr.robie.craftengineconverter.converter;
+
+import fr.robie.craftengineconverter.common.enums.ConverterOptions;
+import fr.robie.craftengineconverter.common.logger.Logger;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Runs conversion stages as a dependency graph: a stage starts as soon as every stage it depends on has finished,
+ * and stages without a path between them run concurrently.
+ * <p>
+ * A failing stage is logged and counts as finished, so its dependents still run, as they did when stages were
+ * chained one after the other.
+ */
+public class StageScheduler {
+    private final String converterName;
+    private final Map<ConverterOptions, Stage> stages = new LinkedHashMap<>();
+
+    public StageScheduler(String converterName) {
+        this.converterName = converterName;
+    }
+
+    @Contract("_, _, _ -> this")
+    public StageScheduler stage(@NotNull ConverterOptions option, @NotNull Runnable task, @NotNull ConverterOptions... dependsOn) {
+        if (this.stages.containsKey(option)) {
+            throw new IllegalStateException("Stage " + option + " is already registered");
+        }
+        this.stages.put(option, new Stage(option, task, List.of(dependsOn)));
+        return this;
+    }
+
+    /**
+     * Starts every stage.
+     *
+     * @param launcher starts a stage task, typically on an async scheduler thread
+     * @return a future completed once every stage has finished
+     */
+    public CompletableFuture<Void> run(@NotNull Function<Runnable, CompletableFuture<Void>> launcher) {
+        Map<ConverterOptions, CompletableFuture<Void>> futures = new EnumMap<>(ConverterOptions.class);
+        for (Stage stage : topologicalOrder()) {
+            CompletableFuture<?>[] dependencies = stage.dependsOn().stream()
+                    .map(futures::get)
+                    .toArray(CompletableFuture[]::new);
+            CompletableFuture<Void> future = CompletableFuture.allOf(dependencies)
+                    .thenCompose(ignored -> launcher.apply(() -> runStage(stage)))
+                    .exceptionally(throwable -> {
+                        Logger.showException("Error during " + this.converterName + " " + stage.option().name().toLowerCase(Locale.ROOT) + " stage", throwable);
+                        return null;
+                    });
+            futures.put(stage.option(), future);
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0]));
+    }
+
+    private void runStage(Stage stage) {
+        try {
+            stage.task().run();
+        } catch (Exception e) {
+            Logger.showException("Error during " + this.converterName + " " + stage.option().name().toLowerCase(Locale.ROOT) + " stage", e);
+        }
+    }
+
+    private List<Stage> topologicalOrder() {
+        List<Stage> ordered = new ArrayList<>(this.stages.size());
+        Set<ConverterOptions> visited = EnumSet.noneOf(ConverterOptions.class);
+        Set<ConverterOptions> visiting = EnumSet.noneOf(ConverterOptions.class);
+        for (Stage stage : this.stages.values()) {
+            visit(stage, visited, visiting, ordered);
+        }
+        return ordered;
+    }
+
+    private void visit(Stage stage, Set<ConverterOptions> visited, Set<ConverterOptions> visiting, List<Stage> ordered) {
+        if (visited.contains(stage.option())) return;
+        if (!visiting.add(stage.option())) {
+            throw new IllegalStateException("Cyclic dependency detected on stage " + stage.option());
+        }
+        for (ConverterOptions dependency : stage.dependsOn()) {
+            Stage dependencyStage = this.stages.get(dependency);
+            if (dependencyStage == null) {
+                throw new IllegalStateException("Stage " + stage.option() + " depends on unregistered stage " + dependency);
+            }
+            visit(dependencyStage, visited, visiting, ordered);
+        }
+        visiting.remove(stage.option());
+        visited.add(stage.option());
+        ordered.add(stage);
+    }
+
+    private record Stage(ConverterOptions option, Runnable task, List<ConverterOptions> dependsOn) {
+    }
+}
@@ -4,19 +4,28 @@ import fr.robie.craftengineconverter.CraftEngineConverter;
 import fr.robie.craftengineconverter.common.CraftEngineImageUtils;
 import fr.robie.craftengineconverter.common.ImageConversion;
 import fr.robie.craftengineconverter.common.configuration.Configuration;
+import fr.robie.craftengineconverter.common.configuration.PathBlacklist;
 import fr.robie.craftengineconverter.common.enums.ConverterOptions;
 import fr.robie.craftengineconverter.common.logger.LogType;
 import fr.robie.craftengineconverter.common.logger.Logger;
 import fr.robie.craftengineconverter.common.progress.BukkitProgressBar;
+import fr.robie.craftengineconverter.converter.ConversionManifest;
 import fr.robie.craftengineconverter.converter.Converter;
+import fr.robie.craftengineconverter.converter.PackMappingIndex;
+import fr.robie.craftengineconverter.converter.PackMappingRegistry;
 import fr.robie.craftengineconverter.utils.ConfigFile;
 import fr.robie.craftengineconverter.utils.SnakeUtils;
+import fr.robie.craftengineconverter.utils.yaml.YamlSectionStreamer;
+import fr.robie.craftengineconverter.utils.yaml.YamlView;
 import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -24,14 +33,33 @@ import java.nio.file.StandardOpenOption;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 public class NexoConverter extends Converter {
+    // Nexo glyphs are converted to both emojis and images, the image wins when both register a name
+    private static final int EMOJIS_GLYPH_PRIORITY = 0;
+    private static final int IMAGES_GLYPH_PRIORITY = 1;
+
     public NexoConverter(CraftEngineConverter plugin) {
         super(plugin,"Nexo");
     }
 
+    @Override
+    public Map<ConverterOptions, List<File>> getWatchedSources() {
+        File glyphs = new File("plugins/" + converterName + "/glyphs");
+        Map<ConverterOptions, List<File>> sources = new EnumMap<>(ConverterOptions.class);
+        sources.put(ConverterOptions.ITEMS, List.of(new File("plugins/" + converterName + "/items")));
+        sources.put(ConverterOptions.EMOJIS, List.of(glyphs));
+        sources.put(ConverterOptions.IMAGES, List.of(glyphs));
+        sources.put(ConverterOptions.LANGUAGES, List.of(new File("plugins/" + converterName + "/languages.yml")));
+        sources.put(ConverterOptions.SOUNDS, List.of(new File("plugins/" + converterName + "/sounds.yml")));
+        sources.put(ConverterOptions.PACKS, List.of(new File("plugins/" + converterName + "/pack")));
+        return sources;
+    }
+
     @Override
     public CompletableFuture<Void> convertItems(boolean async, Optional<Player> player){
         return executeTask(async, ()-> convertItemsSync(player));
@@ -46,17 +74,20 @@ public class NexoConverter extends Converter {
             return;
         }
 
-        if (outputBase.exists()) {
+        ConversionManifest manifest = openManifest("items", outputBase,
+                Configuration.defaultMaterial.name(),
+                String.valueOf(Configuration.disableDefaultItalic),
+                Configuration.armorConverterType.name());
+        if (!manifest.isReusable() && outputBase.exists()) {
             deleteDirectory(outputBase);
         }
 
-        if (!outputBase.mkdirs()) {
+        if (!outputBase.isDirectory() && !outputBase.mkdirs()) {
             Logger.debug("Failed to create Nexo items output directory", LogType.ERROR);
             return;
         }
 
-        Queue<ConfigFile> toConvert = new LinkedList<>();
-        populateQueue(inputBase, inputBase, toConvert);
+        List<ConfigFile> toConvert = discoverConfigFiles(inputBase);
 
         if (toConvert.isEmpty()) {
             return;
@@ -64,7 +95,7 @@ public class NexoConverter extends Converter {
 
         int totalItems = 0;
         for (ConfigFile configFile : toConvert) {
-            totalItems += countItemsInConfig(configFile.config());
+            totalItems += configFile.estimateTopLevelKeys();
         }
         BukkitProgressBar.Builder progressBarBuilder;
         progressBarBuilder = new BukkitProgressBar.Builder(totalItems);
@@ -83,8 +114,8 @@ public class NexoConverter extends Converter {
         progress.start();
 
         try {
-            processConfigs(toConvert, outputBase, progress);
-            toConvert.clear();
+            processConfigs(toConvert, outputBase, progress, manifest);
+            saveManifest("items", manifest);
         } catch (Exception e) {
             Logger.showException("Error during Nexo items conversion", e);
         } finally {
@@ -92,29 +123,62 @@ public class NexoConverter extends Converter {
         }
     }
 
-    private int countItemsInConfig(YamlConfiguration config) {
-        Set<String> keys = config.getKeys(false);
-        return keys.size();
+    private String manifestKey(ConfigFile configFile) {
+        return configFile.baseDir().toPath().relativize(configFile.sourceFile().toPath()).toString().replace("\\", "/");
     }
 
-    private void processConfigs(Queue<ConfigFile> toConvert, File outputBase, BukkitProgressBar progress) {
-        for (ConfigFile configFile : toConvert) {
-            processConfigFile(configFile, outputBase, progress);
+    private void processConfigs(List<ConfigFile> configFiles, File outputBase, BukkitProgressBar progress, ConversionManifest manifest) {
+        List<List<PackMapping>> fileMappings = processInParallel("items", configFiles,
+                configFile -> processConfigFile(configFile, outputBase, progress, manifest));
+
+        PackMappingRegistry.Build mappingBuild = getPackMappings().newBuild();
+        for (List<PackMapping> mappings : fileMappings) {
+            for (PackMapping mapping : mappings) {
+                mappingBuild.add(mapping);
+            }
         }
+        mappingBuild.publish();
     }
 
-    private void processConfigFile(ConfigFile configFile, File outputBase, BukkitProgressBar progress) {
+    /**
+     * Converts a single Nexo item file and writes its CraftEngine counterpart.
+     * Runs on an item worker thread, so it only touches state owned by this file. The file is parsed here and
+     * dropped once converted.
+     * A file left unchanged since the previous run is skipped without being parsed, and the pack mappings
+     * recorded for it are reused. A file that fails to parse, or loses items, is not recorded, so it is converted
+     * again next time.
+     *
+     * @return the pack mappings produced by the items of this file, in item order
+     */
+    private List<PackMapping> processConfigFile(ConfigFile configFile, File outputBase, BukkitProgressBar progress, ConversionManifest manifest) {
         String fileName = configFile.sourceFile().getName();
-        YamlConfiguration config = configFile.config();
+        String manifestKey = manifestKey(configFile);
+
+        ConversionManifest.Entry unchanged = manifest.findUnchanged(manifestKey, configFile.sourceFile());
+        if (unchanged != null) {
+            progress.increment(configFile.estimateTopLevelKeys());
+            return unchanged.getPackMappings();
+        }
+
+        YamlView config;
+        try {
+            config = configFile.loadViewChecked();
+        } catch (IOException e) {
+            Logger.info("Failed to load item file " + fileName + ": " + e.getMessage(), LogType.ERROR);
+            progress.increment(configFile.estimateTopLevelKeys());
+            return List.of();
+        }
 
         YamlConfiguration convertedConfig = new YamlConfiguration();
         ConfigurationSection items = convertedConfig.createSection("items");
         Set<String> keys = config.getKeys(false);
         List<String> itemsIds = new ArrayList<>();
+        List<PackMapping> packMappings = new ArrayList<>();
         String finalFileName = fileName.substring(0, fileName.length() - 4);
+        int failedItems = 0;
 
         for (String itemId : keys) {
-            ConfigurationSection section = config.getConfigurationSection(itemId);
+            YamlView section = config.getConfigurationSection(itemId);
 
             if (section == null) {
                 progress.increment();
@@ -133,36 +197,46 @@ public class NexoConverter extends Converter {
                 );
 
                 nexoItemConverter.convertItem();
+                packMappings.addAll(nexoItemConverter.getPackMappings());
 
                 if (!nexoItemConverter.isExcludeFromInventory()) {
                     itemsIds.add(finalItemId);
                 }
             } catch (Exception e) {
                 Logger.debug("Failed to convert item: " + finalItemId, LogType.ERROR);
+                failedItems++;
             }
 
             progress.increment();
         }
 
         generateCategorie(itemsIds, convertedConfig, finalFileName);
-        if (this.settings.dryRunEnabled()) return;
+        if (this.settings.dryRunEnabled()) return packMappings;
         try {
             Path relative = configFile.baseDir().toPath().relativize(configFile.sourceFile().toPath());
             File output = new File(outputBase, relative.toString());
 
             if (!output.getParentFile().exists()) {
-                if (!output.getParentFile().mkdirs()) {
+                if (!output.getParentFile().mkdirs() && !output.getParentFile().isDirectory()) {
                     Logger.debug("Failed to create output directory for converted item file: " +
                             output.getParentFile().getAbsolutePath(), LogType.ERROR);
                 }
             }
 
             convertedConfig.save(output);
+            if (failedItems > 0) {
+                Logger.info(failedItems + " item(s) of " + fileName + " failed to convert, the file will be converted again next time.", LogType.WARNING);
+            } else {
+                manifest.record(manifestKey, manifest.newEntry(configFile.sourceFile())
+                        .addOutput(manifest.relativize(output))
+                        .addPackMappings(packMappings));
+            }
         } catch (IOException e) {
             Logger.showException("Failed to save converted item file: " + fileName, e);
         } catch (IllegalArgumentException e) {
             Logger.showException("Failed to compute relative path for: " + configFile.sourceFile().getPath(), e);
         }
+        return packMappings;
     }
 
     @Override
@@ -176,29 +250,31 @@ public class NexoConverter extends Converter {
 
         if (!inputEmojisFolder.exists() || !inputEmojisFolder.isDirectory()) {
             Logger.debug("Nexo emojis directory not found at: " + inputEmojisFolder.getAbsolutePath());
+            publishGlyphs(newEmojisRegistration());
             return;
         }
 
-        if (outputEmojisFolder.exists()) {
+        ConversionManifest manifest = openManifest("emojis", outputEmojisFolder);
+        if (!manifest.isReusable() && outputEmojisFolder.exists()) {
             deleteDirectory(outputEmojisFolder);
         }
 
-        if (!outputEmojisFolder.mkdirs()) {
+        if (!outputEmojisFolder.isDirectory() && !outputEmojisFolder.mkdirs()) {
             Logger.debug("Failed to create Nexo emojis output directory", LogType.ERROR);
             return;
         }
 
-        Queue<ConfigFile> toConvert = new LinkedList<>();
-        populateQueue(inputEmojisFolder, inputEmojisFolder, toConvert);
+        List<ConfigFile> toConvert = discoverConfigFiles(inputEmojisFolder);
 
         if (toConvert.isEmpty()) {
             Logger.info("No emojis found to convert.");
+            publishGlyphs(newEmojisRegistration());
             return;
         }
 
         int totalEmojis = 0;
         for (ConfigFile configFile : toConvert) {
-            totalEmojis += countItemsInConfig(configFile.config());
+            totalEmojis += configFile.estimateTopLevelKeys();
         }
 
         BukkitProgressBar.Builder progressBarBuilder = new BukkitProgressBar.Builder(totalEmojis);
@@ -217,8 +293,13 @@ public class NexoConverter extends Converter {
         progress.start();
 
         try {
-            processEmojisConfigs(toConvert, outputEmojisFolder, progress);
-            toConvert.clear();
+            CraftEngineImageUtils.Registration glyphs = newEmojisRegistration();
+            if (processEmojisConfigs(toConvert, outputEmojisFolder, progress, manifest, glyphs)) {
+                publishGlyphs(glyphs);
+            } else {
+                Logger.info("Some emoji files failed to convert, the previous emojis are kept until they convert again.", LogType.WARNING);
+            }
+            saveManifest("emojis", manifest);
         } catch (Exception e) {
             Logger.showException("Error during Nexo emojis conversion", e);
         } finally {
@@ -226,15 +307,42 @@ public class NexoConverter extends Converter {
         }
     }
 
-    private void processEmojisConfigs(Queue<ConfigFile> toConvert, File outputBaseDir, BukkitProgressBar progress) {
+    private CraftEngineImageUtils.Registration newEmojisRegistration() {
+        return CraftEngineImageUtils.newRegistration(converterName + ":emojis", EMOJIS_GLYPH_PRIORITY);
+    }
+
+    /**
+     * @return false if any file failed to convert, in which case its glyphs are missing from {@code glyphs}
+     */
+    private boolean processEmojisConfigs(List<ConfigFile> toConvert, File outputBaseDir, BukkitProgressBar progress, ConversionManifest manifest, CraftEngineImageUtils.Registration glyphs) {
+        boolean complete = true;
         for (ConfigFile configFile : toConvert) {
-            convertEmojiFile(configFile, outputBaseDir, progress);
+            complete &= convertEmojiFile(configFile, outputBaseDir, progress, manifest, glyphs);
         }
+        return complete;
     }
 
-    private void convertEmojiFile(ConfigFile configFile, File outputBaseDir, BukkitProgressBar progress) {
+    private boolean convertEmojiFile(ConfigFile configFile, File outputBaseDir, BukkitProgressBar progress, ConversionManifest manifest, CraftEngineImageUtils.Registration glyphs) {
         File emojiFile = configFile.sourceFile();
-        YamlConfiguration config = configFile.config();
+        String manifestKey = manifestKey(configFile);
+
+        ConversionManifest.Entry unchanged = manifest.findUnchanged(manifestKey, emojiFile);
+        if (unchanged != null) {
+            unchanged.getGlyphs().forEach(glyphs::register);
+            progress.increment(configFile.estimateTopLevelKeys());
+            return true;
+        }
+
+        YamlConfiguration config;
+        try {
+            config = configFile.loadChecked();
+        } catch (IOException | InvalidConfigurationException e) {
+            Logger.debug("Failed to load emoji file: " + emojiFile.getName() + " - " + e.getMessage(), LogType.ERROR);
+            progress.increment(configFile.estimateTopLevelKeys());
+            return false;
+        }
+        ConversionManifest.Entry manifestEntry = manifest.newEntry(emojiFile);
+        boolean complete = true;
 
         Set<String> keys = config.getKeys(false);
         YamlConfiguration convertedConfig = new YamlConfiguration();
@@ -278,15 +386,18 @@ public class NexoConverter extends Converter {
                     ceEmojiSection.set("image", finalKey + ":0:0");
                 }
 
-                CraftEngineImageUtils.register(key, new ImageConversion(finalKey, rows, columns));
+                ImageConversion imageConversion = new ImageConversion(finalKey, rows, columns);
+                glyphs.register(key, imageConversion);
+                manifestEntry.addGlyph(key, imageConversion);
                 convertedCount++;
             } catch (Exception e) {
                 Logger.debug("Failed to convert emoji: " + finalKey, LogType.ERROR);
+                complete = false;
             }
 
             progress.increment();
         }
-        if (this.settings.dryRunEnabled()) return;
+        if (this.settings.dryRunEnabled()) return complete;
         if (convertedCount > 0) {
             try {
                 Path relativePath = configFile.baseDir().toPath().relativize(emojiFile.toPath());
@@ -300,10 +411,17 @@ public class NexoConverter extends Converter {
                 }
 
                 convertedConfig.save(outputFile);
+                manifestEntry.addOutput(manifest.relativize(outputFile));
             } catch (IOException e) {
                 Logger.showException("Failed to save converted emoji file: " + emojiFile.getName(), e);
+                return false;
             }
         }
+        // A partially converted file is converted again next time
+        if (complete) {
+            manifest.record(manifestKey, manifestEntry);
+        }
+        return complete;
     }
 
     @Override
@@ -337,6 +455,13 @@ public class NexoConverter extends Converter {
             }
         }
 
+        ConversionManifest manifest = openManifest("sounds", outputSoundFile.getParentFile());
+        if (manifest.findUnchanged(inputSoundFile.getName(), inputSoundFile) != null) {
+            Logger.debug("Nexo sounds file did not change since the last conversion, skipping it");
+            saveManifest("sounds", manifest);
+            return;
+        }
+
         try (SnakeUtils nexoSounds = new SnakeUtils(inputSoundFile)) {
             if (nexoSounds.isEmpty()) {
                 Logger.debug("Sounds file is empty: " + inputSoundFile.getAbsolutePath());
@@ -383,8 +508,12 @@ public class NexoConverter extends Converter {
                             progress.increment();
                         }
                     }
-                    if (!this.settings.dryRunEnabled())
-                        craftEngineSounds.save(outputSoundFile);
+                    if (!this.settings.dryRunEnabled()) {
+                        craftEngineSounds.save(outputSoundFile, true);
+                        manifest.record(inputSoundFile.getName(), manifest.newEntry(inputSoundFile)
+                                .addOutput(manifest.relativize(outputSoundFile)));
+                        saveManifest("sounds", manifest);
+                    }
                 }
             } catch (Exception e) {
                 Logger.showException("Failed to copyFileWithProgress sounds file: " + inputSoundFile.getName(), e);
@@ -535,97 +664,168 @@ public class NexoConverter extends Converter {
             return;
         }
 
-        try (SnakeUtils nexoLanguages = new SnakeUtils(languagesFile)) {
-            if (nexoLanguages.isEmpty()) {
-                Logger.debug("Languages file is empty: " + languagesFile.getAbsolutePath());
-                return;
-            }
+        ConversionManifest manifest = openManifest("languages", outputFile.getParentFile());
+        if (manifest.findUnchanged(languagesFile.getName(), languagesFile) != null) {
+            Logger.debug("Nexo languages file did not change since the last conversion, skipping it");
+            saveManifest("languages", manifest);
+            return;
+        }
 
-            Set<String> languageKeys = nexoLanguages.getKeys();
-            if (languageKeys.isEmpty()) {
-                Logger.debug("No languages found in file");
-                return;
-            }
+        // Only sizes the progress bar, whether there is anything to convert is decided by the parsed locales
+        int estimatedTranslations;
+        try {
+            estimatedTranslations = YamlSectionStreamer.estimateSectionEntries(languagesFile.toPath());
+        } catch (IOException e) {
+            Logger.showException("Failed to load languages file: " + languagesFile.getName(), e);
+            return;
+        }
+        BukkitProgressBar.Builder progressBarBuilder = new BukkitProgressBar.Builder(estimatedTranslations);
+        if (player.isPresent()){
+            progressBarBuilder.player(player.get());
+            progressBarBuilder.showBar(false);
+        }
 
-            int totalTranslations = 0;
-            for (String langKey : languageKeys) {
-                Map<String, Object> langData = nexoLanguages.getMap(langKey);
-                if (langData != null) {
-                    totalTranslations += langData.size();
-                }
-            }
+        BukkitProgressBar progress = progressBarBuilder
+                .prefix("Converting Nexo languages")
+                .suffix("translations")
+                .options(ConverterOptions.LANGUAGES)
+                .updateInterval(5000)
+                .build(plugin);
 
-            if (totalTranslations == 0) {
-                Logger.info("No translations found in languages file.");
-                return;
-            }
+        progress.start();
 
-            BukkitProgressBar.Builder progressBarBuilder = new BukkitProgressBar.Builder(totalTranslations);
-            if (player.isPresent()){
-                progressBarBuilder.player(player.get());
-                progressBarBuilder.showBar(false);
+        try {
+            int locales = streamLanguages(languagesFile, outputFile, progress);
+            if (locales == 0) {
+                Logger.info("No translations found in languages file.");
+            } else if (!this.settings.dryRunEnabled()) {
+                manifest.record(languagesFile.getName(), manifest.newEntry(languagesFile)
+                        .addOutput(manifest.relativize(outputFile)));
+                saveManifest("languages", manifest);
             }
+        } catch (Exception e) {
+            Logger.showException("Failed to convert languages file: " + languagesFile.getName(), e);
+        } finally {
+            progress.stop();
+        }
+    }
 
-            BukkitProgressBar progress = progressBarBuilder
-                    .prefix("Converting Nexo languages")
-                    .suffix("translations")
-                    .options(ConverterOptions.LANGUAGES)
-                    .updateInterval(5000)
-                    .build(plugin);
+    /**
+     * Streams the locales of the Nexo languages file into the CraftEngine one.
+     * Locales are read one at a time and written by up to {@code threadCount} workers, in
+     * source order, so only the locales in flight are held in memory. {@code global} and {@code en} both become
+     * CraftEngine's {@code en}: they are merged, the later one winning, and written last.
+     * The output is written to a temporary file and moved into place once complete.
+     *
+     * @return the number of locales written
+     */
+    private int streamLanguages(File languagesFile, File outputFile, BukkitProgressBar progress) throws IOException, InterruptedException {
+        boolean dryRun = this.settings.dryRunEnabled();
+        Path target = outputFile.toPath();
+        Path tempFile = null;
+        if (!dryRun) {
+            Files.createDirectories(target.getParent());
+            tempFile = Files.createTempFile(target.getParent(), outputFile.getName(), ".tmp");
+        }
+
+        int threadCount = Math.max(1, this.settings.threadCount());
+        ExecutorService executor = threadCount > 1 ? newWorkerPool("languages", threadCount) : null;
+        Deque<Future<String>> pending = new ArrayDeque<>();
+        List<YamlSectionStreamer.Section> englishSections = new ArrayList<>();
+        int locales = 0;
+        try {
+            try (YamlSectionStreamer streamer = new YamlSectionStreamer(languagesFile.toPath());
+                 Writer writer = dryRun ? Writer.nullWriter() : Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                writer.write("translations:\n");
+
+                YamlSectionStreamer.Section section;
+                while ((section = streamer.next()) != null) {
+                    if (!section.isMapping() || section.entries() == 0) continue;
+                    if (section.key().equals("global") || section.key().equals("en")) {
+                        englishSections.add(section);
+                        continue;
+                    }
 
-            progress.start();
+                    locales++;
+                    YamlSectionStreamer.Section locale = section;
+                    if (executor == null) {
+                        writer.write(convertLocale(locale, progress));
+                        continue;
+                    }
+                    pending.add(executor.submit(() -> convertLocale(locale, progress)));
+                    if (pending.size() >= threadCount) {
+                        writer.write(awaitLocale(pending.poll()));
+                    }
+                }
+                while (!pending.isEmpty()) {
+                    writer.write(awaitLocale(pending.poll()));
+                }
 
-            try {
-                File tempOutputFile = File.createTempFile("craftengine_languages", ".yml");
-                tempOutputFile.deleteOnExit();
+                if (!englishSections.isEmpty()) {
+                    writer.write(convertEnglish(englishSections, progress));
+                    locales++;
+                }
+            }
 
-                try (SnakeUtils craftEngineLanguages = SnakeUtils.createEmpty(tempOutputFile)) {
-                    for (String langKey : languageKeys) {
-                        try {
-                            convertLanguage(langKey, nexoLanguages, craftEngineLanguages, progress);
-                        } catch (Exception e) {
-                            Logger.debug("Failed to convert language: " + langKey, LogType.ERROR);
-                            Map<String, Object> langData = nexoLanguages.getMap(langKey);
-                            if (langData != null) {
-                                progress.increment(langData.size());
-                            }
-                        }
-                    }
-                    if (!this.settings.dryRunEnabled())
-                        craftEngineLanguages.save(outputFile);
+            if (tempFile != null && locales > 0) {
+                try {
+                    Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
                 }
-            } catch (Exception e) {
-                Logger.showException("Failed to convert languages file: " + languagesFile.getName(), e);
-            } finally {
-                progress.stop();
             }
-        } catch (Exception e) {
-            Logger.showException("Failed to load languages file: " + languagesFile.getName(), e);
+            return locales;
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            if (tempFile != null) {
+                Files.deleteIfExists(tempFile);
+            }
         }
     }
 
-    private void convertLanguage(String langKey, SnakeUtils nexoLanguages,
-                                 SnakeUtils craftEngineLanguages, BukkitProgressBar progress) {
-        Map<String, Object> nexoLangData = nexoLanguages.getMap(langKey);
-
-        if (nexoLangData == null || nexoLangData.isEmpty()) {
-            return;
+    /**
+     * @throws IOException if the locale cannot be written, the whole file is then left unconverted so that the
+     *                     next run tries again
+     */
+    private String convertLocale(YamlSectionStreamer.Section locale, BukkitProgressBar progress) throws IOException {
+        try {
+            return YamlSectionStreamer.emit(locale.key(), locale.events(), 2);
+        } catch (IOException | RuntimeException e) {
+            throw new IOException("Failed to convert language: " + locale.key(), e);
+        } finally {
+            progress.increment(locale.entries());
         }
+    }
 
-        String craftEngineLangKey = langKey.equals("global") ? "en" : langKey;
-
-        for (Map.Entry<String, Object> entry : nexoLangData.entrySet()) {
+    @SuppressWarnings("unchecked")
+    private String convertEnglish(List<YamlSectionStreamer.Section> sections, BukkitProgressBar progress) throws IOException {
+        Map<String, Object> translations = new LinkedHashMap<>();
+        for (YamlSectionStreamer.Section section : sections) {
             try {
-                String translationKey = "translations." + craftEngineLangKey + "." + entry.getKey();
-                craftEngineLanguages.addData(translationKey, entry.getValue());
-            } catch (Exception e) {
-                Logger.debug("Failed to convert translation: " + entry.getKey() + " in language: " + langKey, LogType.ERROR);
+                if (YamlSectionStreamer.load(section.events()) instanceof Map<?, ?> map) {
+                    translations.putAll((Map<String, Object>) map);
+                }
+            } catch (IOException | RuntimeException e) {
+                throw new IOException("Failed to convert language: " + section.key(), e);
+            } finally {
+                progress.increment(section.entries());
             }
-
-            progress.increment();
         }
+        return translations.isEmpty() ? "" : YamlSectionStreamer.dump("en", translations, 2);
     }
 
+    private String awaitLocale(Future<String> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            throw new IOException("Failed to convert a language", e.getCause());
+        }
+    }
 
     private void convertImagesSync(Optional<Player> player) {
         File inputBase = new File("plugins/" + converterName + "/glyphs");
@@ -633,29 +833,31 @@ public class NexoConverter extends Converter {
 
         if (!inputBase.exists() || !inputBase.isDirectory()) {
             Logger.debug("Nexo glyph directory not found at: " + inputBase.getAbsolutePath());
+            publishGlyphs(newImagesRegistration());
             return;
         }
 
-        if (outputBase.exists()) {
+        ConversionManifest manifest = openManifest("images", outputBase);
+        if (!manifest.isReusable() && outputBase.exists()) {
             deleteDirectory(outputBase);
         }
 
-        if (!outputBase.mkdirs()) {
+        if (!outputBase.isDirectory() && !outputBase.mkdirs()) {
             Logger.debug("Failed to create Nexo images output directory", LogType.ERROR);
             return;
         }
 
-        Queue<ConfigFile> toConvert = new LinkedList<>();
-        populateQueue(inputBase, inputBase, toConvert);
+        List<ConfigFile> toConvert = discoverConfigFiles(inputBase);
 
         if (toConvert.isEmpty()) {
             Logger.info("No images found to convert.");
+            publishGlyphs(newImagesRegistration());
             return;
         }
 
         int totalImages = 0;
         for (ConfigFile configFile : toConvert) {
-            totalImages += countItemsInConfig(configFile.config());
+            totalImages += configFile.estimateTopLevelKeys();
         }
 
         BukkitProgressBar.Builder progressBarBuilder = new BukkitProgressBar.Builder(totalImages);
@@ -674,8 +876,13 @@ public class NexoConverter extends Converter {
         progress.start();
 
         try {
-            processImagesConfigs(toConvert, outputBase, progress);
-            toConvert.clear();
+            CraftEngineImageUtils.Registration glyphs = newImagesRegistration();
+            if (processImagesConfigs(toConvert, outputBase, progress, manifest, glyphs)) {
+                publishGlyphs(glyphs);
+            } else {
+                Logger.info("Some image files failed to convert, the previous images are kept until they convert again.", LogType.WARNING);
+            }
+            saveManifest("images", manifest);
         } catch (Exception e) {
             Logger.showException("Error during Nexo images conversion", e);
         } finally {
@@ -683,15 +890,51 @@ public class NexoConverter extends Converter {
         }
     }
 
-    private void processImagesConfigs(Queue<ConfigFile> toConvert, File outputBase, BukkitProgressBar progress) {
+    private CraftEngineImageUtils.Registration newImagesRegistration() {
+        return CraftEngineImageUtils.newRegistration(converterName + ":images", IMAGES_GLYPH_PRIORITY);
+    }
+
+    /**
+     * @return false if any file failed to convert, in which case its glyphs are missing from {@code glyphs}
+     */
+    private boolean processImagesConfigs(List<ConfigFile> toConvert, File outputBase, BukkitProgressBar progress, ConversionManifest manifest, CraftEngineImageUtils.Registration glyphs) {
+        boolean complete = true;
         for (ConfigFile configFile : toConvert) {
-            processImageFile(configFile, outputBase, progress);
+            complete &= processImageFile(configFile, outputBase, progress, manifest, glyphs);
         }
+        return complete;
     }
 
-    private void processImageFile(ConfigFile configFile, File outputBase, BukkitProgressBar progress) {
+    /**
+     * Publishes the glyphs of a stage and saves them for the next start. A dry run changes neither.
+     */
+    private void publishGlyphs(CraftEngineImageUtils.Registration glyphs) {
+        if (this.settings.dryRunEnabled()) return;
+        glyphs.publish();
+        saveGlyphIndex();
+    }
+
+    private boolean processImageFile(ConfigFile configFile, File outputBase, BukkitProgressBar progress, ConversionManifest manifest, CraftEngineImageUtils.Registration glyphs) {
         String fileName = configFile.sourceFile().getName();
-        YamlConfiguration config = configFile.config();
+        String manifestKey = manifestKey(configFile);
+
+        ConversionManifest.Entry unchanged = manifest.findUnchanged(manifestKey, configFile.sourceFile());
+        if (unchanged != null) {
+            unchanged.getGlyphs().forEach(glyphs::register);
+            progress.increment(configFile.estimateTopLevelKeys());
+            return true;
+        }
+
+        YamlConfiguration config;
+        try {
+            config = configFile.loadChecked();
+        } catch (IOException | InvalidConfigurationException e) {
+            Logger.debug("Failed to load image file: " + fileName + " - " + e.getMessage(), LogType.ERROR);
+            progress.increment(configFile.estimateTopLevelKeys());
+            return false;
+        }
+        ConversionManifest.Entry manifestEntry = manifest.newEntry(configFile.sourceFile());
+        boolean complete = true;
 
         YamlConfiguration convertedConfig = new YamlConfiguration();
         ConfigurationSection imagesSection = convertedConfig.createSection("images");
@@ -737,15 +980,18 @@ public class NexoConverter extends Converter {
                     section.set("grid-size", rows + "," + cols);
                 }
 
-                CraftEngineImageUtils.register(key, new ImageConversion(finalKey, rows, cols));
+                ImageConversion imageConversion = new ImageConversion(finalKey, rows, cols);
+                glyphs.register(key, imageConversion);
+                manifestEntry.addGlyph(key, imageConversion);
                 convertedCount++;
             } catch (Exception e) {
                 Logger.debug("Failed to convert image: " + key, LogType.ERROR);
+                complete = false;
             }
 
             progress.increment();
         }
-        if (this.settings.dryRunEnabled()) return;
+        if (this.settings.dryRunEnabled()) return complete;
         if (convertedCount > 0) {
             try {
                 Path relative = configFile.baseDir().toPath().relativize(configFile.sourceFile().toPath());
@@ -759,12 +1005,20 @@ public class NexoConverter extends Converter {
                 }
 
                 convertedConfig.save(output);
+                manifestEntry.addOutput(manifest.relativize(output));
             } catch (IOException e) {
                 Logger.showException("Failed to save converted image file: " + fileName, e);
+                return false;
             } catch (IllegalArgumentException e) {
                 Logger.showException("Failed to compute relative path for: " + configFile.sourceFile().getPath(), e);
+                return false;
             }
         }
+        // A partially converted file is converted again next time
+        if (complete) {
+            manifest.record(manifestKey, manifestEntry);
+        }
+        return complete;
     }
 
     @Override
@@ -825,10 +1079,16 @@ public class NexoConverter extends Converter {
                 return;
             }
 
-            if (outputPackFile.exists()) {
+            PackMappingIndex packMappings = getPackMappings().snapshot();
+            ConversionManifest manifest = openManifest("pack", outputPackFile,
+                    packMappings.getMappings().toString(),
+                    String.valueOf(Configuration.blacklistedPaths),
+                    // Rebuilds the pack when leaving HARDLINK, so no converted file stays linked to its source
+                    Configuration.fileTransferStrategy.name());
+            if (!manifest.isReusable() && outputPackFile.exists()) {
                 deleteDirectory(outputPackFile);
             }
-            if (!outputPackFile.mkdirs()) {
+            if (!outputPackFile.isDirectory() && !outputPackFile.mkdirs()) {
                 Logger.debug("Failed to create Nexo pack output directory", LogType.ERROR);
                 return;
             }
@@ -870,15 +1130,18 @@ public class NexoConverter extends Converter {
             boolean useMultiThread = threadCount > 1;
 
             if (useMultiThread) {
-                executor = Executors.newFixedThreadPool(threadCount);
+                executor = newWorkerPool("pack", threadCount);
             }
-            CountDownLatch latch = new CountDownLatch(1);
             AtomicReference<Exception> errorRef = new AtomicReference<>();
+            PackPlan plan = new PackPlan();
+            List<ZipFile> openZipFiles = new ArrayList<>();
+            List<File> extractedZipFolders = new ArrayList<>();
 
             try {
                 File outputAssetsFolder = new File(outputPackFile, "assets");
 
-                copyAssetsFolder(new File(inputPackFile, "assets"), outputAssetsFolder, "main", progress, executor, latch, errorRef, useMultiThread);
+                // Packs are walked in override order: the main pack first, then the external packs
+                copyAssetsFolder(new File(inputPackFile, "assets"), outputAssetsFolder, "main", packMappings, plan, progress, errorRef, NexoConverter::folderStamp);
 
                 if (nexoExternalPacksFolder.exists() && nexoExternalPacksFolder.isDirectory()) {
                     File[] externalPacks = nexoExternalPacksFolder.listFiles();
@@ -886,16 +1149,23 @@ public class NexoConverter extends Converter {
                         for (File externalPack : externalPacks) {
                             if (externalPack.isDirectory()) {
                                 File externalPackAssetsFolder = new File(externalPack, "assets");
-                                copyAssetsFolder(externalPackAssetsFolder, outputAssetsFolder, externalPack.getName(), progress, executor, latch, errorRef, useMultiThread);
+                                copyAssetsFolder(externalPackAssetsFolder, outputAssetsFolder, externalPack.getName(), packMappings, plan, progress, errorRef, NexoConverter::folderStamp);
                             } else if (externalPack.isFile() && externalPack.getName().endsWith(".zip")) {
-                                extractAndCopyZipAssets(externalPack, outputAssetsFolder, externalPack.getName().replace(".zip", ""), progress, executor, latch, errorRef, useMultiThread);
+                                if (Configuration.streamZipExtraction) {
+                                    streamZipAssets(externalPack, outputAssetsFolder, packMappings, plan, progress, errorRef, openZipFiles);
+                                } else {
+                                    extractAndCopyZipAssets(externalPack, outputAssetsFolder, externalPack.getName().replace(".zip", ""), packMappings, plan, progress, errorRef, useMultiThread, extractedZipFolders);
+                                }
                             }
                         }
                     }
                 }
 
+                if (errorRef.get() == null) {
+                    writePackPlan(plan, manifest, progress, executor, errorRef);
+                }
+
                 if (useMultiThread) {
-                    latch.countDown();
                     executor.shutdown();
                     if (!executor.awaitTermination(1, TimeUnit.HOURS)) {
                         Logger.debug("Timeout waiting for file operations to complete", LogType.ERROR);
@@ -906,12 +1176,23 @@ public class NexoConverter extends Converter {
                 if (errorRef.get() != null) {
                     throw errorRef.get();
                 }
+                saveManifest("pack", manifest);
 
             } finally {
                 progress.stop();
                 if (executor != null && !executor.isShutdown()) {
                     executor.shutdownNow();
                 }
+                for (ZipFile openZipFile : openZipFiles) {
+                    try {
+                        openZipFile.close();
+                    } catch (IOException e) {
+                        Logger.debug("Failed to close ZIP file: " + openZipFile.getName() + " - " + e.getMessage(), LogType.ERROR);
+                    }
+                }
+                for (File extractedZipFolder : extractedZipFolders) {
+                    deleteDirectory(extractedZipFolder);
+                }
             }
         } catch (Exception e) {
             Logger.showException("Error during Nexo pack conversion", e);
@@ -922,17 +1203,67 @@ public class NexoConverter extends Converter {
         }
     }
 
+    /**
+     * Identifies a file of a pack folder in the manifest by its path, and compares it by size and modification
+     * time. Pack files are not hashed.
+     */
+    private static SourceStamp folderStamp(File file) {
+        return new SourceStamp(file.getPath().replace("\\", "/"), file.length(), file.lastModified());
+    }
+
+    /**
+     * Writes the files of the plan that changed since the previous run, on {@code executor} when there is one.
+     * <p>
+     * A file is kept when its source is unchanged and already wrote it last time. A source that now overrides
+     * another one, or is no longer overridden, is written again even if it did not change.
+     */
+    private void writePackPlan(PackPlan plan, ConversionManifest manifest, BukkitProgressBar progress,
+                               @Nullable ExecutorService executor, AtomicReference<Exception> errorRef) {
+        for (PackFile overridden : plan.overridden()) {
+            // Recorded without its output, so that it is written again once it is no longer overridden
+            manifest.record(overridden.stamp().key(), new ConversionManifest.Entry(overridden.stamp().size(), overridden.stamp().stamp(), null));
+            progress.increment();
+        }
+
+        for (PackFile packFile : plan.files()) {
+            SourceStamp stamp = packFile.stamp();
+            String output = manifest.relativize(packFile.target());
+            ConversionManifest.Entry previous = manifest.findUnchanged(stamp.key(), stamp.size(), stamp.stamp(), null);
+            if (previous != null && previous.getOutputs().contains(output)) {
+                progress.increment();
+                continue;
+            }
+            ConversionManifest.Entry manifestEntry = new ConversionManifest.Entry(stamp.size(), stamp.stamp(), null)
+                    .addOutput(output);
+
+            Runnable task = () -> {
+                try {
+                    packFile.writer().write();
+                    manifest.record(stamp.key(), manifestEntry);
+                    progress.increment();
+                } catch (Exception e) {
+                    Logger.debug("Error copying file: " + packFile.target().getName() + " - " + e.getMessage(), LogType.ERROR);
+                    errorRef.compareAndSet(null, e);
+                }
+            };
+            if (executor != null) {
+                executor.submit(task);
+            } else {
+                task.run();
+            }
+        }
+    }
+
     private void copyAssetsFolder(File assetsFolder, File outputAssetsFolder, String packName,
-                                  BukkitProgressBar progress, ExecutorService executor,
-                                  CountDownLatch latch, AtomicReference<Exception> errorRef,
-                                  boolean useMultiThread) {
+                                  PackMappingIndex packMappings, PackPlan plan, BukkitProgressBar progress,
+                                  AtomicReference<Exception> errorRef, Function<File, SourceStamp> stamps) {
         if (!assetsFolder.exists() || !assetsFolder.isDirectory()) {
             Logger.debug("Assets folder not found for pack '" + packName + "' at: " + assetsFolder.getAbsolutePath());
             return;
         }
 
         try {
-            copyDirectory(assetsFolder, outputAssetsFolder, assetsFolder, progress, executor, latch, errorRef, useMultiThread);
+            copyDirectory(assetsFolder, outputAssetsFolder, assetsFolder, packMappings, plan, progress, stamps);
         } catch (IOException e) {
             Logger.info("Failed to copy assets from " + packName + " pack: " + e.getMessage(), LogType.ERROR);
             errorRef.compareAndSet(null, e);
@@ -940,9 +1271,8 @@ public class NexoConverter extends Converter {
     }
 
     private void copyDirectory(File source, File destination, File assetsRoot,
-                               BukkitProgressBar progress, ExecutorService executor,
-                               CountDownLatch latch, AtomicReference<Exception> errorRef,
-                               boolean useMultiThread) throws IOException {
+                               PackMappingIndex packMappings, PackPlan plan, BukkitProgressBar progress,
+                               Function<File, SourceStamp> stamps) throws IOException {
         if (!this.settings.dryRunEnabled() && !destination.exists() && !destination.mkdirs()) {
             Logger.debug("Failed to create destination directory: " + destination.getAbsolutePath(), LogType.ERROR);
             return;
@@ -951,6 +1281,7 @@ public class NexoConverter extends Converter {
         File[] files = source.listFiles();
         if (files == null) return;
 
+        PathBlacklist blacklist = Configuration.getPathBlacklist();
         for (File file : files) {
             Path relativePath = assetsRoot.toPath().relativize(file.toPath());
             String relativePathStr = relativePath.toString().replace("\\", "/");
@@ -961,7 +1292,7 @@ public class NexoConverter extends Converter {
 
             String fullPath = namespace + ":" + pathInNamespace;
 
-            if (Configuration.isPathBlacklisted(fullPath)) {
+            if (blacklist.matches(fullPath)) {
                 if (file.isFile()) {
                     progress.increment();
                 }
@@ -970,13 +1301,13 @@ public class NexoConverter extends Converter {
 
             if (file.isFile()) {
                 String fullPathWithFile = namespace + ":" + pathInNamespace + "/" + file.getName();
-                if (Configuration.isPathBlacklisted(fullPathWithFile)) {
+                if (blacklist.matches(fullPathWithFile)) {
                     progress.increment();
                     continue;
                 }
             }
 
-            PackMapping resolvedMapping = resolvePackMapping(namespace, pathInNamespace);
+            PackMapping resolvedMapping = packMappings.resolve(namespace, pathInNamespace);
 
             File targetFile;
             if (resolvedMapping != null) {
@@ -997,45 +1328,27 @@ public class NexoConverter extends Converter {
                 }
 
                 if (resolvedMapping != null) {
-                    copyDirectoryContents(file, targetFile, progress, executor, latch, errorRef, useMultiThread);
+                    copyDirectoryContents(file, targetFile, plan, stamps);
                 } else {
-                    copyDirectory(file, destination, assetsRoot, progress, executor, latch, errorRef, useMultiThread);
+                    copyDirectory(file, destination, assetsRoot, packMappings, plan, progress, stamps);
                 }
             } else {
-                copyFileWithProgress(progress, executor, latch, errorRef, useMultiThread, file, targetFile);
+                planFileCopy(plan, stamps, file, targetFile);
             }
         }
     }
 
-    private void copyFileWithProgress(BukkitProgressBar progress, ExecutorService executor, CountDownLatch latch, AtomicReference<Exception> errorRef, boolean useMultiThread, File file, File targetFile) throws IOException {
-        if (useMultiThread) {
-            executor.submit(() -> {
-                try {
-                    latch.await();
-                    if (!this.settings.dryRunEnabled() && !targetFile.getParentFile().exists()
-                            && !targetFile.getParentFile().mkdirs()) {
-                        Logger.debug("Failed to create parent directory for file: " + targetFile.getAbsolutePath(), LogType.ERROR);
-                    }
-                    copyFile(file, targetFile);
-                    progress.increment();
-                } catch (Exception e) {
-                    Logger.debug("Error copying file: " + file.getName() + " - " + e.getMessage(), LogType.ERROR);
-                    errorRef.compareAndSet(null, e);
-                }
-            });
-        } else {
+    private void planFileCopy(PackPlan plan, Function<File, SourceStamp> stamps, File file, File targetFile) {
+        plan.add(new PackFile(stamps.apply(file), targetFile, () -> {
             if (!this.settings.dryRunEnabled() && !targetFile.getParentFile().exists()
                     && !targetFile.getParentFile().mkdirs()) {
                 Logger.debug("Failed to create parent directory for file: " + targetFile.getAbsolutePath(), LogType.ERROR);
             }
             copyFile(file, targetFile);
-            progress.increment();
-        }
+        }));
     }
 
-    private void copyDirectoryContents(File source, File destination, BukkitProgressBar progress,
-                                       ExecutorService executor, CountDownLatch latch,
-                                       AtomicReference<Exception> errorRef, boolean useMultiThread) throws IOException {
+    private void copyDirectoryContents(File source, File destination, PackPlan plan, Function<File, SourceStamp> stamps) {
         if (!this.settings.dryRunEnabled() && !destination.exists() && !destination.mkdirs()) {
             Logger.debug("Failed to create destination directory: " + destination.getAbsolutePath(), LogType.ERROR);
             return;
@@ -1048,50 +1361,189 @@ public class NexoConverter extends Converter {
             File targetFile = new File(destination, file.getName());
 
             if (file.isDirectory()) {
-                copyDirectoryContents(file, targetFile, progress, executor, latch, errorRef, useMultiThread);
+                copyDirectoryContents(file, targetFile, plan, stamps);
             } else {
-                copyFileWithProgress(progress, executor, latch, errorRef, useMultiThread, file, targetFile);
+                planFileCopy(plan, stamps, file, targetFile);
+            }
+        }
+    }
+
+    /**
+     * Copies the assets of an external pack ZIP straight into the output tree, without extracting it to a
+     * temporary folder first. Entries are read through the ZIP central directory and go through the same
+     * blacklist and pack mapping rules as {@link #copyDirectory}.
+     * <p>
+     * The entries are written once the walk of every pack is over, so the opened ZIP is added to
+     * {@code openZipFiles} and must be closed by the caller once the pack is written. Entries are identified by
+     * the ZIP path and their name, and compared by size and CRC.
+     */
+    private void streamZipAssets(File zipFile, File outputAssetsFolder, PackMappingIndex packMappings, PackPlan plan,
+                                 BukkitProgressBar progress, AtomicReference<Exception> errorRef, List<ZipFile> openZipFiles) {
+        ZipFile zip;
+        try {
+            zip = new ZipFile(zipFile);
+        } catch (IOException e) {
+            Logger.showException("Failed to open ZIP: " + zipFile.getName(), e);
+            errorRef.compareAndSet(null, e);
+            return;
+        }
+
+        boolean keepOpen = false;
+        try {
+            Path canonicalOutput = outputAssetsFolder.getCanonicalFile().toPath();
+            PathBlacklist blacklist = Configuration.getPathBlacklist();
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (entry.isDirectory()) continue;
+
+                String entryName;
+                try {
+                    entryName = validateZipEntryName(entry.getName()).replace("\\", "/");
+                } catch (IOException e) {
+                    Logger.debug("Skipping ZIP entry in " + zipFile.getName() + ": " + e.getMessage(), LogType.WARNING);
+                    continue;
+                }
+
+                String targetPath = entryName.startsWith("assets/")
+                        ? resolveAssetTarget(entryName.substring("assets/".length()), blacklist, packMappings)
+                        : null;
+                if (targetPath == null || this.settings.dryRunEnabled()) {
+                    progress.increment();
+                    continue;
+                }
+
+                File targetFile = new File(outputAssetsFolder, targetPath);
+                Path destination = targetFile.getCanonicalFile().toPath();
+                if (!destination.startsWith(canonicalOutput)) {
+                    throw new IOException("Entry outside target: " + entry.getName());
+                }
+
+                keepOpen = true;
+                SourceStamp stamp = new SourceStamp(zipEntryKey(zipFile, entryName), entry.getSize(), entry.getCrc());
+                plan.add(new PackFile(stamp, targetFile, () -> writeZipEntry(zip, entry, destination)));
+            }
+        } catch (IOException e) {
+            Logger.showException("Failed to copy assets from ZIP: " + zipFile.getName(), e);
+            errorRef.compareAndSet(null, e);
+        } finally {
+            if (keepOpen) {
+                openZipFiles.add(zip);
+            } else {
+                try {
+                    zip.close();
+                } catch (IOException e) {
+                    Logger.debug("Failed to close ZIP file: " + zipFile.getName() + " - " + e.getMessage(), LogType.ERROR);
+                }
+            }
+        }
+    }
+
+    /**
+     * Manifest key of a ZIP entry, the same whether the ZIP is streamed or extracted first.
+     */
+    private static String zipEntryKey(File zipFile, String entryName) {
+        return zipFile.getPath().replace("\\", "/") + "!/" + entryName;
+    }
+
+    private void writeZipEntry(ZipFile zip, ZipEntry entry, Path destination) throws IOException {
+        Files.createDirectories(destination.getParent());
+        try (InputStream inputStream = zip.getInputStream(entry)) {
+            Files.copy(inputStream, destination, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Computes where an asset lands in the output tree, applying the blacklist and the pack mappings the same
+     * way {@link #copyDirectory} does while walking a pack folder: every parent directory is checked from the
+     * namespace folder down, and the first mapped directory moves the whole subtree.
+     *
+     * @param relativePath path of the file relative to the {@code assets} folder, e.g. {@code minecraft/textures/a.png}
+     * @return the target path relative to the output {@code assets} folder, or null if the file is blacklisted
+     */
+    private @Nullable String resolveAssetTarget(String relativePath, PathBlacklist blacklist, PackMappingIndex packMappings) {
+        String fileName = relativePath.substring(relativePath.lastIndexOf('/') + 1);
+        int namespaceEnd = relativePath.indexOf('/');
+        String namespace = namespaceEnd < 0 ? relativePath : relativePath.substring(0, namespaceEnd);
+
+        for (int end = namespaceEnd; end >= 0; end = relativePath.indexOf('/', end + 1)) {
+            String directoryPath = end == namespaceEnd ? "" : relativePath.substring(namespaceEnd + 1, end);
+            if (blacklist.matches(namespace + ":" + directoryPath)) {
+                return null;
+            }
+            PackMapping mapping = packMappings.resolve(namespace, directoryPath);
+            if (mapping != null) {
+                return mapping.namespaceTarget() + "/" + mapping.targetPath() + "/" + relativePath.substring(end + 1);
             }
         }
+
+        String pathInNamespace = namespaceEnd < 0 ? "" : relativePath.substring(namespaceEnd + 1);
+        String fullPath = namespace + ":" + pathInNamespace;
+        if (blacklist.matches(fullPath) || blacklist.matches(fullPath + "/" + fileName)) {
+            return null;
+        }
+        PackMapping mapping = packMappings.resolve(namespace, pathInNamespace);
+        if (mapping != null) {
+            return mapping.namespaceTarget() + "/" + mapping.targetPath() + "/" + fileName;
+        }
+        return relativePath;
     }
 
+    /**
+     * Extracts a ZIP to a temporary folder and copies its assets like an external pack folder. The extracted files
+     * are identified like streamed entries, by the ZIP path and their name, and compared by the size and CRC of
+     * their entry.
+     * <p>
+     * The files are copied once the walk of every pack is over, so the folder is added to
+     * {@code extractedZipFolders} and must be deleted by the caller once the pack is written.
+     */
     private void extractAndCopyZipAssets(File zipFile, File outputAssetsFolder, String packName,
-                                         BukkitProgressBar progress, ExecutorService executor,
-                                         CountDownLatch latch, AtomicReference<Exception> errorRef,
-                                         boolean useMultiThread) {
-        File tempDir = new File(this.plugin.getDataFolder(), "temp/zip_extract_" + System.currentTimeMillis());
+                                         PackMappingIndex packMappings, PackPlan plan, BukkitProgressBar progress,
+                                         AtomicReference<Exception> errorRef, boolean useMultiThread, List<File> extractedZipFolders) {
+        // Extracted folders live until the end of the stage, each ZIP needs its own
+        File tempDir = new File(this.plugin.getDataFolder(), "temp/zip_extract_" + packName + "_" + System.currentTimeMillis());
 
         if (!this.settings.dryRunEnabled() && !tempDir.exists() && !tempDir.mkdirs()) {
             Logger.debug("Failed to create temporary directory for ZIP extraction: " + tempDir.getAbsolutePath(), LogType.ERROR);
             return;
         }
+        if (!this.settings.dryRunEnabled()) {
+            extractedZipFolders.add(tempDir);
+        }
 
         try {
-            extractZip(zipFile.toPath(), tempDir.toPath(), progress, executor, latch, errorRef, useMultiThread);
+            Map<String, ZipEntry> extractedEntries = extractZip(zipFile.toPath(), tempDir.toPath(), progress, useMultiThread);
 
             File extractedAssetsFolder = new File(tempDir, "assets");
             if (extractedAssetsFolder.exists() && extractedAssetsFolder.isDirectory()) {
-                copyAssetsFolder(extractedAssetsFolder, outputAssetsFolder, packName, progress, executor, latch, errorRef, useMultiThread);
+                Path extractionRoot = tempDir.toPath();
+                copyAssetsFolder(extractedAssetsFolder, outputAssetsFolder, packName, packMappings, plan, progress, errorRef, file -> {
+                    String entryName = extractionRoot.relativize(file.toPath()).toString().replace("\\", "/");
+                    ZipEntry entry = extractedEntries.get(entryName);
+                    return entry != null
+                            ? new SourceStamp(zipEntryKey(zipFile, entryName), entry.getSize(), entry.getCrc())
+                            : new SourceStamp(zipEntryKey(zipFile, entryName), file.length(), file.lastModified());
+                });
             } else if (!this.settings.dryRunEnabled()) {
                 Logger.debug("No assets folder found in ZIP: " + zipFile.getName());
             }
-
-            if (!this.settings.dryRunEnabled()) {
-                deleteDirectory(tempDir);
-            }
         } catch (IOException e) {
             Logger.showException("Failed to extract and copy assets from ZIP: " + zipFile.getName(), e);
             errorRef.compareAndSet(null, e);
-        } finally {
-            if (!this.settings.dryRunEnabled() && tempDir.exists()) {
-                deleteDirectory(tempDir);
-            }
         }
     }
 
-    private void extractZip(Path zipPath, Path targetDir, BukkitProgressBar progress,
-                            ExecutorService executor, CountDownLatch latch,
-                            AtomicReference<Exception> errorRef, boolean useMultiThread) throws IOException {
+    /**
+     * Extracts a ZIP into {@code targetDir} and returns once every entry has been written.
+     * <p>
+     * When running multithreaded, entries are read on the calling thread and written by a dedicated pool. The
+     * bytes waiting to be written are capped by {@link Configuration#zipMemoryBudgetMb}: the reader blocks until
+     * enough of the budget is released. Entries of unknown size or larger than the budget are streamed to disk
+     * directly by the reader, so they are never held in memory.
+     *
+     * @return the extracted file entries by name, read to the end so that their size and CRC are known
+     */
+    private Map<String, ZipEntry> extractZip(Path zipPath, Path targetDir, BukkitProgressBar progress, boolean useMultiThread) throws IOException {
         if (this.settings.dryRunEnabled()) {
             try (ZipInputStream zis = new ZipInputStream(new BufferedInputStream(Files.newInputStream(zipPath)))) {
                 ZipEntry entry;
@@ -1102,12 +1554,19 @@ public class NexoConverter extends Converter {
                     zis.closeEntry();
                 }
             }
-            return;
+            return Map.of();
         }
 
         Files.createDirectories(targetDir);
         File canonicalTargetDir = targetDir.toFile().getCanonicalFile();
 
+        int budgetBytes = (int) Math.min(Integer.MAX_VALUE, Math.max(1, Configuration.zipMemoryBudgetMb) * 1024L * 1024L);
+        Semaphore budget = new Semaphore(budgetBytes);
+        ExecutorService extractionExecutor = useMultiThread ? newWorkerPool("zip-extraction", Math.max(1, this.settings.threadCount())) : null;
+        List<Future<?>> pendingWrites = new ArrayList<>();
+        Map<String, ZipEntry> extractedEntries = new HashMap<>();
+        IOException failure = null;
+
         try (ZipInputStream zis = new ZipInputStream(new BufferedInputStream(Files.newInputStream(zipPath)))) {
             ZipEntry entry;
             while ((entry = zis.getNextEntry()) != null) {
@@ -1127,50 +1586,79 @@ public class NexoConverter extends Converter {
                 }
 
                 Files.createDirectories(canonicalDestination.getParentFile().toPath());
-
-                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-                byte[] tempBuffer = new byte[8192];
-                int len;
-                while ((len = zis.read(tempBuffer)) > 0) {
-                    buffer.write(tempBuffer, 0, len);
-                }
-                byte[] fileContent = buffer.toByteArray();
-
                 Path finalPath = canonicalDestination.toPath();
-                if (useMultiThread) {
-                    executor.submit(() -> {
-                        try {
-                            latch.await();
-                            try (OutputStream out = Files.newOutputStream(finalPath,
-                                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
-                                out.write(fileContent);
-                            }
-                            progress.increment();
-                        } catch (Exception e) {
-                            Logger.debug("Error extracting file from ZIP: " + entryName + " - " + e.getMessage(), LogType.ERROR);
-                            errorRef.compareAndSet(null, e);
-                        }
-                    });
-                } else {
+                long size = entry.getSize();
+
+                if (extractionExecutor == null || size < 0 || size > budgetBytes) {
                     try (OutputStream out = Files.newOutputStream(finalPath,
                             StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
-                        out.write(fileContent);
+                        zis.transferTo(out);
                     }
-                    progress.increment();
+                } else {
+                    int permits = (int) Math.max(1, size);
+                    try {
+                        budget.acquire(permits);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("Interrupted while waiting for ZIP extraction memory budget");
+                    }
+                    byte[] fileContent;
+                    try {
+                        fileContent = zis.readAllBytes();
+                    } catch (IOException e) {
+                        budget.release(permits);
+                        throw e;
+                    }
+                    pendingWrites.add(extractionExecutor.submit(() -> {
+                        try (OutputStream out = Files.newOutputStream(finalPath,
+                                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                            out.write(fileContent);
+                        } catch (IOException e) {
+                            Logger.debug("Error extracting file from ZIP: " + entryName + " - " + e.getMessage(), LogType.ERROR);
+                            throw new UncheckedIOException(e);
+                        } finally {
+                            budget.release(permits);
+                        }
+                    }));
                 }
 
                 zis.closeEntry();
+                extractedEntries.put(entryName.replace("\\", "/"), entry);
+            }
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            if (extractionExecutor != null) {
+                failure = awaitPendingWrites(pendingWrites, failure);
+                extractionExecutor.shutdown();
             }
         }
+
+        if (failure != null) {
+            throw failure;
+        }
+        return extractedEntries;
+    }
+
+    private @Nullable IOException awaitPendingWrites(List<Future<?>> pendingWrites, @Nullable IOException failure) {
+        for (Future<?> pendingWrite : pendingWrites) {
+            try {
+                pendingWrite.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) failure = new InterruptedIOException("Interrupted while waiting for ZIP extraction");
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof UncheckedIOException unchecked ? unchecked.getCause() : new IOException(e.getCause());
+                }
+            }
+        }
+        return failure;
     }
 
     private void copyFile(File source, File destination) throws IOException {
         if (this.settings.dryRunEnabled()) return;
-        Files.copy(
-            source.toPath(),
-            destination.toPath(),
-            StandardCopyOption.REPLACE_EXISTING
-        );
+        Configuration.fileTransferStrategy.transfer(source.toPath(), destination.toPath());
     }
 
     private String validateZipEntryName(@Nullable String entryName) throws IOException {
@@ -1246,4 +1734,44 @@ public class NexoConverter extends Converter {
         categorySection.set("icon", itemsIds.getFirst());
         categorySection.set("list", itemsIds);
     }
+
+    /**
+     * Identifies a pack source in the manifest.
+     *
+     * @param stamp cheap change marker: the modification time of a file, the CRC of a ZIP entry
+     */
+    private record SourceStamp(String key, long size, long stamp) {
+    }
+
+    @FunctionalInterface
+    private interface PackFileWriter {
+        void write() throws IOException;
+    }
+
+    private record PackFile(SourceStamp stamp, File target, PackFileWriter writer) {
+    }
+
+    /**
+     * The files of every pack, by output. Packs are added in override order, and a file replaces any earlier one
+     * landing on the same output, so each output is written once, by its last writer.
+     */
+    private static final class PackPlan {
+        private final Map<Path, PackFile> files = new LinkedHashMap<>();
+        private final List<PackFile> overridden = new ArrayList<>();
+
+        void add(PackFile file) {
+            PackFile previous = this.files.put(file.target().toPath().normalize(), file);
+            if (previous != null) {
+                this.overridden.add(previous);
+            }
+        }
+
+        Collection<PackFile> files() {
+            return this.files.values();
+        }
+
+        List<PackFile> overridden() {
+            return this.overridden;
+        }
+    }
 }
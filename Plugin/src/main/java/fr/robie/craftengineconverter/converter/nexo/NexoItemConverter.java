@@ -14,6 +14,7 @@ import fr.robie.craftengineconverter.utils.loots.CraftEngineItemLoot;
 import fr.robie.craftengineconverter.utils.loots.ItemLoot;
 import fr.robie.craftengineconverter.utils.loots.MinecraftItemLoot;
 import fr.robie.craftengineconverter.utils.manager.InternalTemplateManager;
+import fr.robie.craftengineconverter.utils.yaml.YamlView;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -24,9 +25,9 @@ import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class NexoItemConverter extends ItemConverter {
-    private final ConfigurationSection nexoItemSection;
+    private final YamlView nexoItemSection;
 
-    public NexoItemConverter(Converter converter, ConfigurationSection nexoItemSection, String itemId, ConfigurationSection craftEngineItemSection, YamlConfiguration convertedConfig) {
+    public NexoItemConverter(Converter converter, YamlView nexoItemSection, String itemId, ConfigurationSection craftEngineItemSection, YamlConfiguration convertedConfig) {
         super(itemId, craftEngineItemSection,converter,convertedConfig);
         this.nexoItemSection = nexoItemSection;
     }
@@ -43,9 +44,9 @@ public class NexoItemConverter extends ItemConverter {
     }
 
     private void copyComponentSection(String nexoKey, String ceKey) {
-        ConfigurationSection section = this.nexoItemSection.getConfigurationSection("Components." + nexoKey);
+        YamlView section = this.nexoItemSection.getConfigurationSection("Components." + nexoKey);
         if (section != null) {
-            this.craftEngineItemUtils.getComponentsSection().set(ceKey, section.getValues(true));
+            this.craftEngineItemUtils.getComponentsSection().set(ceKey, section.toMap());
         }
     }
 
@@ -135,7 +136,7 @@ public class NexoItemConverter extends ItemConverter {
 
     @Override
     public void convertEnchantments() {
-        ConfigurationSection configurationSection = this.nexoItemSection.getConfigurationSection("Enchantments");
+        YamlView configurationSection = this.nexoItemSection.getConfigurationSection("Enchantments");
         if (configurationSection == null) return;
 
         for (String enchantmentKey : configurationSection.getKeys(false)) {
@@ -216,7 +217,7 @@ public class NexoItemConverter extends ItemConverter {
 
     @Override
     public void convertTool() {
-        ConfigurationSection nexoToolSection = this.nexoItemSection.getConfigurationSection("Components.tool");
+        YamlView nexoToolSection = this.nexoItemSection.getConfigurationSection("Components.tool");
         if (isNotNull(nexoToolSection)) {
             double defaultMiningSpeed = nexoToolSection.getDouble("default_mining_speed", 1);
             ConfigurationSection ceToolSection = this.craftEngineItemUtils.getComponentsSection().createSection("minecraft:tool");
@@ -323,14 +324,14 @@ public class NexoItemConverter extends ItemConverter {
 
     @Override
     public void convertConsumable() {
-        ConfigurationSection consumableSection = this.nexoItemSection.getConfigurationSection("Components.consumable");
+        YamlView consumableSection = this.nexoItemSection.getConfigurationSection("Components.consumable");
         if (consumableSection == null) return;
 
         ConfigurationSection ceConsumableSection = this.craftEngineItemUtils.getComponentsSection()
                 .createSection("minecraft:consumable");
         setConsumableBasicProperties(consumableSection, ceConsumableSection);
 
-        ConfigurationSection effectsSection = this.nexoItemSection.getConfigurationSection("effects");
+        YamlView effectsSection = this.nexoItemSection.getConfigurationSection("effects");
         if (effectsSection == null) return;
 
         List<Map<String, Object>> consumeEffects = new ArrayList<>();
@@ -345,15 +346,15 @@ public class NexoItemConverter extends ItemConverter {
         }
     }
 
-    private void setConsumableBasicProperties(ConfigurationSection source, ConfigurationSection target) {
+    private void setConsumableBasicProperties(YamlView source, ConfigurationSection target) {
         target.set("sound", source.getString("sound", "entity.generic.eat"));
         target.set("has_consume_particles", source.getBoolean("consume_particles", true));
         target.set("consume_seconds", source.getDouble("consume_seconds", 1.6));
         target.set("animation", source.getString("animation", "eat").toLowerCase());
     }
 
-    private void addApplyEffects(ConfigurationSection effectsSection, List<Map<String, Object>> consumeEffects) {
-        ConfigurationSection applyEffectsSection = effectsSection.getConfigurationSection("APPLY_EFFECTS");
+    private void addApplyEffects(YamlView effectsSection, List<Map<String, Object>> consumeEffects) {
+        YamlView applyEffectsSection = effectsSection.getConfigurationSection("APPLY_EFFECTS");
         if (applyEffectsSection == null) return;
 
         List<Map<String, Object>> effects = new ArrayList<>();
@@ -372,28 +373,28 @@ public class NexoItemConverter extends ItemConverter {
         consumeEffects.add(Map.of("type", "apply_effects", "effects", effects));
     }
 
-    private void addRemoveEffects(ConfigurationSection effectsSection, List<Map<String, Object>> consumeEffects) {
+    private void addRemoveEffects(YamlView effectsSection, List<Map<String, Object>> consumeEffects) {
         List<String> removeEffects = effectsSection.getStringList("REMOVE_EFFECTS");
         if (!removeEffects.isEmpty()) {
             consumeEffects.add(Map.of("type", "remove_effects", "effects", removeEffects));
         }
     }
 
-    private void addClearAllEffects(ConfigurationSection effectsSection, List<Map<String, Object>> consumeEffects) {
+    private void addClearAllEffects(YamlView effectsSection, List<Map<String, Object>> consumeEffects) {
         if (effectsSection.get("CLEAR_ALL_EFFECTS") != null) {
             consumeEffects.add(Map.of("type", "clear_all_effects"));
         }
     }
 
-    private void addTeleportEffect(ConfigurationSection consumableSection, List<Map<String, Object>> consumeEffects) {
+    private void addTeleportEffect(YamlView consumableSection, List<Map<String, Object>> consumeEffects) {
         double diameter = consumableSection.getDouble("TELEPORT_RANDOMLY.diameter", -1.0);
         if (diameter > 0) {
             consumeEffects.add(Map.of("type", "teleport_randomly", "diameter", diameter));
         }
     }
 
-    private void addPlaySoundEffect(ConfigurationSection consumableSection, List<Map<String, Object>> consumeEffects) {
-        ConfigurationSection soundSection = consumableSection.getConfigurationSection("PLAY_SOUND");
+    private void addPlaySoundEffect(YamlView consumableSection, List<Map<String, Object>> consumeEffects) {
+        YamlView soundSection = consumableSection.getConfigurationSection("PLAY_SOUND");
         if (soundSection == null) return;
 
         consumeEffects.add(Map.of(
@@ -407,7 +408,7 @@ public class NexoItemConverter extends ItemConverter {
 
     @Override
     public void convertEquipable() {
-        ConfigurationSection equipableSection = this.nexoItemSection.getConfigurationSection("Components.equippable");
+        YamlView equipableSection = this.nexoItemSection.getConfigurationSection("Components.equippable");
         if (equipableSection == null) return;
 
         String assetId = equipableSection.getString("asset_id");
@@ -483,7 +484,7 @@ public class NexoItemConverter extends ItemConverter {
 
     @Override
     public void convertUseCooldown() {
-        ConfigurationSection useCooldownSection = this.nexoItemSection.getConfigurationSection("Components.use_cooldown");
+        YamlView useCooldownSection = this.nexoItemSection.getConfigurationSection("Components.use_cooldown");
         if (useCooldownSection == null) return;
 
         ConfigurationSection ceUseCooldownSection = this.craftEngineItemUtils.getComponentsSection()
@@ -494,7 +495,7 @@ public class NexoItemConverter extends ItemConverter {
 
     @Override
     public void convertUseRemainderComponent() {
-        ConfigurationSection useRemainderSection = this.nexoItemSection.getConfigurationSection("Components.use_remainder");
+        YamlView useRemainderSection = this.nexoItemSection.getConfigurationSection("Components.use_remainder");
         if (useRemainderSection == null) return;
 
         for (String keyToCheck : new String[]{"minecraft_type", "crucible_item", "mmoitems_id", "mmoitems_type", "nexo_item"}) {
@@ -513,7 +514,7 @@ public class NexoItemConverter extends ItemConverter {
 
     @Override
     public void convertAnvilRepairable() {
-        ConfigurationSection componentsSection = this.nexoItemSection.getConfigurationSection("Components");
+        YamlView componentsSection = this.nexoItemSection.getConfigurationSection("Components");
         if (componentsSection == null) return;
 
         List<Map<String, Object>> ceRepairItems = new ArrayList<>();
@@ -537,16 +538,16 @@ public class NexoItemConverter extends ItemConverter {
 
     @Override
     public void convertDeathProtection() {
-        ConfigurationSection nexoDeathprotectionSection = nexoItemSection.getConfigurationSection("Components.death_protection");
+        YamlView nexoDeathprotectionSection = nexoItemSection.getConfigurationSection("Components.death_protection");
         if (isNull(nexoDeathprotectionSection)) return;
-        ConfigurationSection deathEffects = nexoDeathprotectionSection.getConfigurationSection("death_effects");
+        YamlView deathEffects = nexoDeathprotectionSection.getConfigurationSection("death_effects");
         ConfigurationSection ceDeathprotectionSection = getOrCreateSection(this.craftEngineItemUtils.getComponentsSection(),"minecraft:death_protection");
         if (isNull(deathEffects)){
             ceDeathprotectionSection.set("death_effects", new ArrayList<>());
             return;
         }
         List<Map<String,Object>> ceDeathEffects = new ArrayList<>();
-        ConfigurationSection nexoApplyEffectsSection = deathEffects.getConfigurationSection("APPLY_EFFECTS");
+        YamlView nexoApplyEffectsSection = deathEffects.getConfigurationSection("APPLY_EFFECTS");
         if (isNotNull(nexoApplyEffectsSection)) {
             for (String key : nexoApplyEffectsSection.getKeys(false)) {
                 Map<String,Object> consumeEffect = new HashMap<>();
@@ -574,12 +575,12 @@ public class NexoItemConverter extends ItemConverter {
         if (clearAllEffects){
             ceDeathEffects.add(Map.of("type","clear_all_effects"));
         }
-        ConfigurationSection teleportRandomlySection = deathEffects.getConfigurationSection("TELEPORT_RANDOMLY");
+        YamlView teleportRandomlySection = deathEffects.getConfigurationSection("TELEPORT_RANDOMLY");
         if (isNotNull(teleportRandomlySection)) {
             double diameter = teleportRandomlySection.getDouble("diameter",16.0);
             ceDeathEffects.add(Map.of("type","teleport_randomly","diameter",diameter));
         }
-        ConfigurationSection playSoundSection = deathEffects.getConfigurationSection("PLAY_SOUND");
+        YamlView playSoundSection = deathEffects.getConfigurationSection("PLAY_SOUND");
         if (isNotNull(playSoundSection)) {
             String sound = playSoundSection.getString("sound");
             if (isValidString(sound)) {
@@ -610,7 +611,7 @@ public class NexoItemConverter extends ItemConverter {
 
     @Override
     public void convertWeaponComponent() {
-        ConfigurationSection weaponSection = this.nexoItemSection.getConfigurationSection("Components.weapon");
+        YamlView weaponSection = this.nexoItemSection.getConfigurationSection("Components.weapon");
         if (weaponSection == null) return;
 
         ConfigurationSection ceWeaponSection = this.craftEngineItemUtils.getComponentsSection()
@@ -621,7 +622,7 @@ public class NexoItemConverter extends ItemConverter {
 
     @Override
     public void convertBlocksAttackComponent() {
-        ConfigurationSection nexoBlocksAttacksSection = this.nexoItemSection.getConfigurationSection("Components.blocks_attacks");
+        YamlView nexoBlocksAttacksSection = this.nexoItemSection.getConfigurationSection("Components.blocks_attacks");
         if (isNull(nexoBlocksAttacksSection)) return;
         ConfigurationSection ceBlocksAttacksSection = getOrCreateSection(this.craftEngineItemUtils.getComponentsSection(), "minecraft:blocks_attacks");
         double blockDelay = nexoBlocksAttacksSection.getDouble("block_delay", 0);
@@ -697,7 +698,7 @@ public class NexoItemConverter extends ItemConverter {
     }
 
     private void convertBlockPredicateComponent(String componentName) {
-        ConfigurationSection nexoSection = this.nexoItemSection.getConfigurationSection("Components." + componentName);
+        YamlView nexoSection = this.nexoItemSection.getConfigurationSection("Components." + componentName);
         if (isNull(nexoSection)) return;
 
 
@@ -763,7 +764,7 @@ public class NexoItemConverter extends ItemConverter {
 
     @Override
     public void convertItemTexture() {
-        ConfigurationSection packSection = this.nexoItemSection.getConfigurationSection("Pack");
+        YamlView packSection = this.nexoItemSection.getConfigurationSection("Pack");
         if (packSection == null) return;
 
         String parentModel = packSection.getString("parent_model");
@@ -775,14 +776,14 @@ public class NexoItemConverter extends ItemConverter {
         }
     }
 
-    private void convertModelWithoutParent(ConfigurationSection packSection) {
+    private void convertModelWithoutParent(YamlView packSection) {
         String modelPath = packSection.getString("model");
         if (!isValidString(modelPath)) {
             if (this.craftEngineItemUtils.getMaterial() == Material.ELYTRA){
                 buildElytraModel(packSection);
             }
             if (packSection.isConfigurationSection("CustomArmor")){
-                ConfigurationSection customArmorSection = packSection.getConfigurationSection("CustomArmor");
+                YamlView customArmorSection = packSection.getConfigurationSection("CustomArmor");
                 ConfigurationSection fileEquipementsSection = getEquipmentsSection();
 
                 String assetId = determineAssetId(packSection, List.of("_wolf_armor","_llama_armor","_horse_armor","_nautilus_armor"));
@@ -830,7 +831,7 @@ public class NexoItemConverter extends ItemConverter {
                                         String fileName = lastSlash != -1 ? path.substring(lastSlash + 1) : path;
 
                                         String targetPath = "textures/entity/equipment/" + equipmentFolder + "/";
-                                        getConverter().addPackMapping(namespace, "textures/" + path + ".png", namespace, targetPath);
+                                        addPackMapping(namespace, "textures/" + path + ".png", namespace, targetPath);
 
                                         for (ArmorConverter converter : convertersToProcess) {
                                             String convertedPath = generateArmorTexturePath(converter, namespace, fileName, equipmentFolder);
@@ -847,7 +848,7 @@ public class NexoItemConverter extends ItemConverter {
                                         }
 
                                         String targetPath = "textures/entity/equipment/" + equipmentFolder + "/" + pathPrefix;
-                                        getConverter().addPackMapping(namespace, "textures/" + path + ".png", namespace, targetPath);
+                                        addPackMapping(namespace, "textures/" + path + ".png", namespace, targetPath);
 
                                         for (ArmorConverter converter : convertersToProcess) {
                                             converterTextures.computeIfAbsent(converter, k -> new HashSet<>()).add(namespacedTexture);
@@ -906,12 +907,12 @@ public class NexoItemConverter extends ItemConverter {
                             // Layer 1 - Humanoid (helmet, chestplate, boots)
                             String layer1FileName = armorName + "_armor_layer_1";
                             String originalPathLayer1 = "textures/" + textureDir + layer1FileName + ".png";
-                            getConverter().addPackMapping(namespace, originalPathLayer1, namespace, "textures/entity/equipment/humanoid/");
+                            addPackMapping(namespace, originalPathLayer1, namespace, "textures/entity/equipment/humanoid/");
 
                             // Layer 2 - Humanoid-leggings (leggings)
                             String layer2FileName = armorName + "_armor_layer_2";
                             String originalPathLayer2 = "textures/" + textureDir + layer2FileName + ".png";
-                            getConverter().addPackMapping(namespace, originalPathLayer2, namespace, "textures/entity/equipment/humanoid_leggings/");
+                            addPackMapping(namespace, originalPathLayer2, namespace, "textures/entity/equipment/humanoid_leggings/");
 
                             for (ArmorConverter converter : convertersToProcess) {
                                 ConfigurationSection section = converterSections.get(converter);
@@ -957,7 +958,7 @@ public class NexoItemConverter extends ItemConverter {
         this.craftEngineItemUtils.getGeneralSection().createSection("model", parsedTemplate);
     }
 
-    private void buildElytraModel(ConfigurationSection packSection) {
+    private void buildElytraModel(YamlView packSection) {
         String elytraModel = cleanPath(packSection.getString("texture"));
         if (isValidString(elytraModel)) {
             String namespacedElytra = namespaced(elytraModel);
@@ -973,12 +974,12 @@ public class NexoItemConverter extends ItemConverter {
                     string = string.substring(0, lastIndexOf)+"/"+itemIdPartTwo;
                 }
                 String originalPath = "textures/" + string + ".png";
-                getConverter().addPackMapping(split[0], originalPath, split[0], "textures/entity/equipment/wings/");
+                addPackMapping(split[0], originalPath, split[0], "textures/entity/equipment/wings/");
             }
         }
     }
 
-    private boolean tryBuildTridentModel(ConfigurationSection packSection, String modelPath){
+    private boolean tryBuildTridentModel(YamlView packSection, String modelPath){
         if (this.craftEngineItemUtils.getMaterial() != Material.TRIDENT) return false;
         String namespacedModel = namespaced(modelPath);
         if (isNull(namespacedModel)) return false;
@@ -989,7 +990,7 @@ public class NexoItemConverter extends ItemConverter {
         return true;
     }
 
-    private boolean tryBuildShieldModel(ConfigurationSection packSection, String modelPath) {
+    private boolean tryBuildShieldModel(YamlView packSection, String modelPath) {
         String shieldBlockingModel = packSection.getString("blocking_model");
         if (isValidString(shieldBlockingModel)) {
             shieldBlockingModel = cleanPath(shieldBlockingModel);
@@ -1005,7 +1006,7 @@ public class NexoItemConverter extends ItemConverter {
         return false;
     }
 
-    private boolean tryBuildPullingModel(ConfigurationSection packSection) {
+    private boolean tryBuildPullingModel(YamlView packSection) {
         List<String> pullingModels = packSection.getStringList("pulling_models");
         if (pullingModels.isEmpty()) return false;
 
@@ -1019,7 +1020,7 @@ public class NexoItemConverter extends ItemConverter {
         return false;
     }
 
-    private boolean tryBuildFishingRodModel(ConfigurationSection packSection, String modelPath) {
+    private boolean tryBuildFishingRodModel(YamlView packSection, String modelPath) {
         String castModel = packSection.getString("cast_model");
         if (isValidString(castModel)) {
             castModel = cleanPath(castModel);
@@ -1035,7 +1036,7 @@ public class NexoItemConverter extends ItemConverter {
         return false;
     }
 
-    private void convertModelWithParent(ConfigurationSection packSection, String parentModel) {
+    private void convertModelWithParent(YamlView packSection, String parentModel) {
         switch (parentModel) {
             case "item/generated" -> buildGeneratedModel(packSection, "minecraft:item/generated", Template.MODEL_ITEM_GENERATED);
             case "block/cube_all" -> buildGeneratedModel(packSection, "minecraft:block/cube_all", Template.MODEL_CUBE_ALL);
@@ -1043,7 +1044,7 @@ public class NexoItemConverter extends ItemConverter {
         }
     }
 
-    private void buildGeneratedModel(ConfigurationSection packSection, String parent, Template template) {
+    private void buildGeneratedModel(YamlView packSection, String parent, Template template) {
         String texturePath = getTexturePath(packSection);
         if (isValidString(texturePath)) {
             String finalTexturePath = namespaced(texturePath);
@@ -1071,7 +1072,7 @@ public class NexoItemConverter extends ItemConverter {
 
     }
 
-    private void buildCubeTopModel(ConfigurationSection packSection) {
+    private void buildCubeTopModel(YamlView packSection) {
         String sideTexture = packSection.getString("textures.side");
         String topTexture = packSection.getString("textures.top");
 
@@ -1140,7 +1141,7 @@ public class NexoItemConverter extends ItemConverter {
      * @param suffixesToRemove List of suffixes to remove from the itemId
      * @return The asset-id or null if invalid
      */
-    private String determineAssetId(ConfigurationSection packSection, List<String> suffixesToRemove) {
+    private String determineAssetId(YamlView packSection, List<String> suffixesToRemove) {
         if (isValidString(this.assetId)){
             return this.assetId;
         }
@@ -1199,7 +1200,7 @@ public class NexoItemConverter extends ItemConverter {
         }
     }
 
-    private void buildBowModel(ConfigurationSection packSection) {
+    private void buildBowModel(YamlView packSection) {
         String baseModel = namespaced(packSection.getString("model"));
         List<String> pullingModels = packSection.getStringList("pulling_models");
         String pulling0 = namespaced(notEmptyOrNull(pullingModels, 0) ? pullingModels.get(0) : packSection.getString("pulling_0_model"));
@@ -1213,7 +1214,7 @@ public class NexoItemConverter extends ItemConverter {
         }
     }
 
-    private void buildCrossbowModel(ConfigurationSection packSection) {
+    private void buildCrossbowModel(YamlView packSection) {
         String baseModel = namespaced(packSection.getString("model"));
         String arrowModel = namespaced(packSection.getString("charged_model"));
         String fireworkModel = namespaced(packSection.getString("firework_model"));
@@ -1232,17 +1233,17 @@ public class NexoItemConverter extends ItemConverter {
 
     @Override
     public void convertOther(){
-        ConfigurationSection mechanicsSection = this.nexoItemSection.getConfigurationSection("Mechanics");
+        YamlView mechanicsSection = this.nexoItemSection.getConfigurationSection("Mechanics");
         if (mechanicsSection == null) return;
         Set<String> mechanicsKeys = mechanicsSection.getKeys(false);
         for (String mechanicsKey : mechanicsKeys) {
             switch(mechanicsKey){
                 case "furniture" -> {
-                    ConfigurationSection nexoFurnitureSection = mechanicsSection.getConfigurationSection(mechanicsKey);
+                    YamlView nexoFurnitureSection = mechanicsSection.getConfigurationSection(mechanicsKey);
                     convertFurnitureMechanic(nexoFurnitureSection);
                 }
                 case "custom_block" -> {
-                    ConfigurationSection nexoCustomBlockSection = mechanicsSection.getConfigurationSection(mechanicsKey);
+                    YamlView nexoCustomBlockSection = mechanicsSection.getConfigurationSection(mechanicsKey);
                     convertCustomBlockMechanic(nexoCustomBlockSection);
                 }
                 default -> {}
@@ -1250,7 +1251,7 @@ public class NexoItemConverter extends ItemConverter {
         }
     }
 
-    private void convertCustomBlockMechanic(ConfigurationSection nexoCustomBlockSection) {
+    private void convertCustomBlockMechanic(YamlView nexoCustomBlockSection) {
         Map<String, Object> savedModel = getSavedModelTemplates();
         if (savedModel.isEmpty()) return;
         ConfigurationSection ceBehaviorSection = this.craftEngineItemUtils.getBehaviorSection();
@@ -1268,7 +1269,7 @@ public class NexoItemConverter extends ItemConverter {
         }
         ceStateSection.set("auto-state",state);
         ceStateSection.createSection("model", savedModel);
-        ConfigurationSection sounds = nexoCustomBlockSection.getConfigurationSection("block_sounds");
+        YamlView sounds = nexoCustomBlockSection.getConfigurationSection("block_sounds");
         if (sounds != null) {
             ConfigurationSection settings = getOrCreateSection(ceBlockSection, "settings");
             for (String soundKey : new String[]{"place_sound","break_sound","hit_sound","step_sound","fall_sound"}) {
@@ -1299,7 +1300,7 @@ public class NexoItemConverter extends ItemConverter {
             ConfigurationSection ceBlockBehaviorSection = getOrCreateSection(ceBlockSection, "behavior");
             ceBlockBehaviorSection.set("type","falling_block");
         }
-        ConfigurationSection nexoSaplingSection = nexoCustomBlockSection.getConfigurationSection("sapling");
+        YamlView nexoSaplingSection = nexoCustomBlockSection.getConfigurationSection("sapling");
         if (isNotNull(nexoSaplingSection)){
             Logger.debug("Sapling behavior conversion for custom block item '"+this.itemId+"' is not supported yet. Skipping sapling behavior.", LogType.WARNING);
             // TODO implement sapling behavior conversion
@@ -1308,7 +1309,7 @@ public class NexoItemConverter extends ItemConverter {
                 Logger.info("CraftEngine only supports naturally growing saplings. The sapling for custom block item '"+this.itemId+"' will grow naturally.", LogType.INFO);
             }
         }
-        ConfigurationSection nexoDropSection = nexoCustomBlockSection.getConfigurationSection("drop");
+        YamlView nexoDropSection = nexoCustomBlockSection.getConfigurationSection("drop");
         if (isNotNull(nexoDropSection)){
             boolean dropSelfWithSilktouch = nexoDropSection.getBoolean("silktouch",false);
             boolean fortuneAffectsDrop = nexoDropSection.getBoolean("fortune",false);
@@ -1343,14 +1344,14 @@ public class NexoItemConverter extends ItemConverter {
         }
     }
 
-    private void convertFurnitureMechanic(ConfigurationSection nexoFurnitureMechanicsSection) {
+    private void convertFurnitureMechanic(YamlView nexoFurnitureMechanicsSection) {
         String nexoMEGModel = nexoFurnitureMechanicsSection.getString("modelengine_id");
         String nexoBetterModel = nexoFurnitureMechanicsSection.getString("better-model");
         ConfigurationSection ceBehaviorSection = this.craftEngineItemUtils.getBehaviorSection();
         ceBehaviorSection.set("type", "furniture_item");
         ConfigurationSection ceSettingsSection = getOrCreateSection(ceBehaviorSection, "settings");
         ceSettingsSection.set("item", this.itemId);
-        ConfigurationSection nexoBlockSoundSection = nexoFurnitureMechanicsSection.getConfigurationSection("block_sounds");
+        YamlView nexoBlockSoundSection = nexoFurnitureMechanicsSection.getConfigurationSection("block_sounds");
         if (isNotNull(nexoBlockSoundSection)){
             ConfigurationSection ceBlockSoundSection = getOrCreateSection(ceSettingsSection, "sounds");
             setIfNotEmpty(ceBlockSoundSection, "place", nexoBlockSoundSection.getString("place_sound"));
@@ -1383,7 +1384,7 @@ public class NexoItemConverter extends ItemConverter {
             }
         }
 
-        ConfigurationSection nexoPropertiesSection = nexoFurnitureMechanicsSection.getConfigurationSection("properties");
+        YamlView nexoPropertiesSection = nexoFurnitureMechanicsSection.getConfigurationSection("properties");
         Billboard transformType = Billboard.FIXED;
         ItemDisplayType displayType = ItemDisplayType.FIXED;
 
@@ -1425,7 +1426,7 @@ public class NexoItemConverter extends ItemConverter {
                 }
             }
         }
-        ConfigurationSection dropSection = nexoFurnitureMechanicsSection.getConfigurationSection("drop");
+        YamlView dropSection = nexoFurnitureMechanicsSection.getConfigurationSection("drop");
         if (isNotNull(dropSection)){
             // TODO: Support for nexo drop
             boolean dropSelfWithSilktouch = dropSection.getBoolean("silktouch",false);
@@ -1493,7 +1494,7 @@ public class NexoItemConverter extends ItemConverter {
             ConfigurationSection ceFurnitureSection = getOrCreateSection(ceBehaviorSection, "furniture");
             ceFurnitureSection.set("loot", InternalTemplateManager.parseTemplate(Template.LOOT_TABLE_BASIC_DROP, "%type%","furniture_item","%item%", this.itemId));
         }
-        ConfigurationSection limitedPlacingSection = nexoFurnitureMechanicsSection.getConfigurationSection("limited_placing");
+        YamlView limitedPlacingSection = nexoFurnitureMechanicsSection.getConfigurationSection("limited_placing");
         Set<FurniturePlacement> noLimitedPlacingKeys = new HashSet<>();
         if (isNotNull(limitedPlacingSection)){
             boolean limitedRoof = limitedPlacingSection.getBoolean("roof", false);
@@ -1536,7 +1537,7 @@ public class NexoItemConverter extends ItemConverter {
             map.put("scale", scale.toString());
             elements.add(map);
             List<Map<String,Object>> hitboxes = new ArrayList<>();
-            ConfigurationSection nexoHitboxesSection = nexoFurnitureMechanicsSection.getConfigurationSection("hitbox");
+            YamlView nexoHitboxesSection = nexoFurnitureMechanicsSection.getConfigurationSection("hitbox");
             if (isNotNull(nexoHitboxesSection)){
                 // Parse barriers (simple shulker hitboxes)
                 List<String> barriersList = nexoHitboxesSection.getStringList("barriers");
@@ -0,0 +1,16 @@
+package fr.robie.craftengineconverter.listener;
+
+import fr.robie.craftengineconverter.common.CraftEngineImageUtils;
+import net.momirealms.craftengine.bukkit.api.event.CraftEngineReloadEvent;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+
+public class CraftEngineListener implements Listener {
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onCraftEngineReload(CraftEngineReloadEvent event) {
+        // Images may have been added, removed or moved to other characters
+        CraftEngineImageUtils.rebuildRenderTable();
+    }
+}
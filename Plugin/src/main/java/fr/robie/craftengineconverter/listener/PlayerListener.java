@@ -0,0 +1,21 @@
+package fr.robie.craftengineconverter.listener;
+
+import fr.robie.craftengineconverter.common.tag.ITagResolver;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+public class PlayerListener implements Listener {
+    private final ITagResolver tagResolver;
+
+    public PlayerListener(ITagResolver tagResolver) {
+        this.tagResolver = tagResolver;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        // Placeholder results cached for the player are never read again
+        this.tagResolver.invalidatePlayer(event.getPlayer().getUniqueId());
+    }
+}
@@ -2,9 +2,17 @@ package fr.robie.craftengineconverter.tag;
 
 import fr.robie.craftengineconverter.common.CraftEngineImageUtils;
 import fr.robie.craftengineconverter.common.tag.TagProcessor;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.TranslationArgument;
+import net.kyori.adventure.text.event.HoverEvent;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -66,6 +74,16 @@ public class GlyphTagProcessor implements TagProcessor {
         return GLYPH_PATTERN;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code glyph} and its short form {@code g}
+     */
+    @Override
+    public Set<String> getPrefixes() {
+        return Set.of("glyph", "g");
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -144,4 +162,154 @@ public class GlyphTagProcessor implements TagProcessor {
 
         return Optional.of(result.toString());
     }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Same conversion as {@link #process(String, Player)} for a single tag: the font representation of the glyph,
+     * or the tag without its escaping backslash if the glyph is unknown.
+     * </p>
+     */
+    @Override
+    public Optional<String> resolveTag(String prefix, String argument, String raw, Player player) {
+        Optional<String> converted = CraftEngineImageUtils.convert(argument);
+        if (converted.isPresent()) {
+            return converted;
+        }
+        return Optional.of(raw.startsWith("\\") ? raw.substring(1) : raw);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code true}, glyphs can be inserted in a component tree
+     */
+    @Override
+    public boolean supportsComponents() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code false}, glyphs render the same for every player
+     */
+    @Override
+    public boolean isPlayerDependent() {
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each text component containing glyph tags keeps the text before the first tag as its content, the glyphs
+     * and the text between them are added as its first children. Glyphs therefore inherit the style of the text
+     * they were written in, as they do when processed as a string. Hover texts and translation arguments are
+     * processed as well.
+     * </p>
+     * <p>
+     * <b>Processing example:</b>
+     * <ul>
+     *   <li>Input: {@code text("Hello <glyph:heart> world", RED)}<br>
+     *       Output: {@code text("Hello ", RED).children([glyph(heart), text(" world")])}</li>
+     * </ul>
+     * </p>
+     */
+    @Override
+    public Optional<Component> process(Component component, Player player) {
+        Component rewritten = rewrite(component);
+        return rewritten == component ? Optional.empty() : Optional.of(rewritten);
+    }
+
+    /**
+     * @return the rewritten component, or the same instance if it did not contain any glyph tag
+     */
+    private Component rewrite(Component component) {
+        Component result = component;
+
+        List<Component> children = result.children();
+        List<Component> rewrittenChildren = null;
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component rewrittenChild = rewrite(child);
+            if (rewrittenChild != child) {
+                if (rewrittenChildren == null) rewrittenChildren = new ArrayList<>(children);
+                rewrittenChildren.set(i, rewrittenChild);
+            }
+        }
+        if (rewrittenChildren != null) {
+            result = result.children(rewrittenChildren);
+        }
+
+        if (result instanceof TranslatableComponent translatable && !translatable.arguments().isEmpty()) {
+            List<Component> arguments = new ArrayList<>(translatable.arguments().size());
+            boolean modified = false;
+            for (TranslationArgument argument : translatable.arguments()) {
+                Component value = argument.asComponent();
+                Component rewrittenValue = rewrite(value);
+                modified |= rewrittenValue != value;
+                arguments.add(rewrittenValue);
+            }
+            if (modified) {
+                result = translatable.arguments(arguments);
+            }
+        }
+
+        if (result.hoverEvent() != null && result.hoverEvent().value() instanceof Component hoverText) {
+            Component rewrittenHover = rewrite(hoverText);
+            if (rewrittenHover != hoverText) {
+                result = result.hoverEvent(HoverEvent.showText(rewrittenHover));
+            }
+        }
+
+        if (result instanceof TextComponent text) {
+            result = rewriteContent(text);
+        }
+        return result;
+    }
+
+    private Component rewriteContent(TextComponent text) {
+        String content = text.content();
+        if (content.indexOf('<') == -1) {
+            return text;
+        }
+        Matcher matcher = GLYPH_PATTERN.matcher(content);
+        if (!matcher.find()) {
+            return text;
+        }
+
+        String head = null;
+        List<Component> parts = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(content.length());
+        int lastEnd = 0;
+        do {
+            literal.append(content, lastEnd, matcher.start());
+            Optional<Component> glyph = CraftEngineImageUtils.convertToComponent(matcher.group(1));
+            if (glyph.isPresent()) {
+                if (head == null) {
+                    head = literal.toString();
+                } else if (!literal.isEmpty()) {
+                    parts.add(Component.text(literal.toString()));
+                }
+                literal.setLength(0);
+                parts.add(glyph.get());
+            } else {
+                String fullMatch = matcher.group();
+                literal.append(fullMatch.startsWith("\\") ? fullMatch.substring(1) : fullMatch);
+            }
+            lastEnd = matcher.end();
+        } while (matcher.find());
+        literal.append(content, lastEnd, content.length());
+
+        if (head == null) {
+            // Only unknown glyphs, at most a backslash was removed
+            String unescaped = literal.toString();
+            return unescaped.equals(content) ? text : text.content(unescaped);
+        }
+        if (!literal.isEmpty()) {
+            parts.add(Component.text(literal.toString()));
+        }
+        parts.addAll(text.children());
+        return text.content(head).children(parts);
+    }
 }
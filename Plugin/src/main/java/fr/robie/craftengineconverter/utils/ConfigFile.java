@@ -1,8 +1,92 @@
 package fr.robie.craftengineconverter.utils;
 
+import fr.robie.craftengineconverter.common.logger.LogType;
+import fr.robie.craftengineconverter.common.logger.Logger;
+import fr.robie.craftengineconverter.utils.yaml.FastYamlLoader;
+import fr.robie.craftengineconverter.utils.yaml.YamlView;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.yaml.snakeyaml.error.YAMLException;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
-public record ConfigFile(File sourceFile, File baseDir, YamlConfiguration config) {
+/**
+ * A YAML source file found while walking a source folder. Its content is only parsed when {@link #load()} or
+ * {@link #loadView()} is called, so discovering the sources of a stage does not keep them in memory.
+ */
+public record ConfigFile(File sourceFile, File baseDir) {
+
+    /**
+     * Parses the file. A file that cannot be read or parsed gives an empty configuration.
+     */
+    public YamlConfiguration load() {
+        try {
+            return YamlConfiguration.loadConfiguration(this.sourceFile);
+        } catch (Exception e) {
+            Logger.debug("Failed to load config file: " + this.sourceFile.getName(), LogType.ERROR);
+            return new YamlConfiguration();
+        }
+    }
+
+    /**
+     * Parses the file like {@link #load()}, but fails instead of giving an empty configuration, for callers that
+     * must not mistake a broken file for an empty one.
+     */
+    public YamlConfiguration loadChecked() throws IOException, InvalidConfigurationException {
+        YamlConfiguration config = new YamlConfiguration();
+        config.load(this.sourceFile);
+        return config;
+    }
+
+    /**
+     * Parses the file into a read-only {@link YamlView}, which is much cheaper than {@link #load()} for sources that
+     * are only read. A file that cannot be read or parsed gives an empty view.
+     */
+    public YamlView loadView() {
+        try {
+            return FastYamlLoader.load(this.sourceFile.toPath());
+        } catch (Exception e) {
+            Logger.debug("Failed to load config file: " + this.sourceFile.getName() + " - " + e.getMessage(), LogType.ERROR);
+            return FastYamlLoader.loadFromString("");
+        }
+    }
+
+    /**
+     * Parses the file like {@link #loadView()}, but fails instead of giving an empty view.
+     *
+     * @throws IOException if the file cannot be read or is not a valid YAML map
+     */
+    public YamlView loadViewChecked() throws IOException {
+        try {
+            return FastYamlLoader.load(this.sourceFile.toPath());
+        } catch (YAMLException | IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Estimates the number of top-level keys without parsing the file, by counting the lines that start a key
+     * at column zero. Meant for progress totals, where an approximate value is enough.
+     */
+    public int estimateTopLevelKeys() {
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(this.sourceFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                char first = line.charAt(0);
+                if (first == ' ' || first == '\t' || first == '#' || first == '-' || first == '.' || first == '%') continue;
+                if (line.indexOf(':') > 0) {
+                    count++;
+                }
+            }
+        } catch (IOException e) {
+            Logger.debug("Failed to scan config file: " + this.sourceFile.getName() + " - " + e.getMessage(), LogType.WARNING);
+        }
+        return count;
+    }
 }
@@ -2,23 +2,28 @@ package fr.robie.craftengineconverter.utils;
 
 import fr.robie.craftengineconverter.common.logger.LogType;
 import fr.robie.craftengineconverter.common.logger.Logger;
+import fr.robie.craftengineconverter.utils.yaml.KeyPath;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.DumperOptions;
 import org.yaml.snakeyaml.Yaml;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
 import java.util.*;
-import java.util.regex.Pattern;
 
 /**
  * SnakeUtils - A utility class for managing YAML files with convenient access methods.
  *
  * This class provides a fluent API for reading, writing, and manipulating YAML data
  * with support for nested keys using dot notation (e.g., "section.subsection.key").
+ * String keys are parsed into a cached {@link KeyPath}, where a backslash escapes a delimiter
+ * ("lang.menu\\.title" is the key "menu.title" in "lang"). Keys taken from data should be passed
+ * as a {@link KeyPath#of(String...)} instead, which never splits them.
  *
  * Features:
  * - Load and save YAML files
@@ -27,8 +32,12 @@ import java.util.regex.Pattern;
  * - Section management (get, create, update sections)
  * - Data manipulation (add, remove, merge, clone)
  * - Auto-save capability
+ * - Optional atomic saves (temp file + rename), so readers never see a half-written file
  * - Implements AutoCloseable for try-with-resources support
  *
+ * Files are read and written as UTF-8. The underlying {@link Yaml} instances are reused per thread,
+ * as building one (and its representer) is expensive and they are not thread-safe.
+ *
  * Example usage:
  * <pre>
  * try (SnakeUtils yaml = new SnakeUtils(new File("config.yml"), true)) {
@@ -43,6 +52,8 @@ import java.util.regex.Pattern;
  * @version 1.0
  */
 public class SnakeUtils implements AutoCloseable {
+    private static final ThreadLocal<Yaml> YAML = ThreadLocal.withInitial(SnakeUtils::createYaml);
+
     private final File targetFile;
     private final Map<String, Object> data;
     private final boolean autoSave;
@@ -58,11 +69,7 @@ public class SnakeUtils implements AutoCloseable {
      */
     public SnakeUtils(@NotNull File targetFile, boolean autoSave) throws IOException {
         this.targetFile = targetFile;
-        Yaml yaml = new Yaml();
-        Map<String, Object> loadedData;
-        try (FileInputStream fis = new FileInputStream(targetFile)){
-            loadedData = yaml.load(fis);
-        }
+        Map<String, Object> loadedData = readYaml(targetFile);
         this.data = (loadedData != null) ? loadedData : new LinkedHashMap<>();
         this.autoSave = autoSave;
     }
@@ -107,23 +114,45 @@ public class SnakeUtils implements AutoCloseable {
         if (key.isEmpty()){
             return;
         }
+        addData(KeyPath.parse(key, delimiter), value);
+    }
 
-        String[] keys = key.split(Pattern.quote(delimiter));
-
-        if (keys.length == 0){
-            return;
-        }
+    /**
+     * Adds or updates data at the specified key path.
+     * Creates nested sections as needed, replacing non-section values on the way.
+     *
+     * @param path The key path
+     * @param value The value to store (can be any object, Map, List, etc.)
+     */
+    public void addData(@NotNull KeyPath path, @NotNull Object value){
+        path.parent(this.data, true).put(path.last(), value);
+    }
 
-        Map<String, Object> currentMap = this.data;
-        for (int i = 0; i < keys.length - 1; i++){
-            String k = keys[i];
-            if (!currentMap.containsKey(k) || !(currentMap.get(k) instanceof Map)){
-                currentMap.put(k, new java.util.LinkedHashMap<String, Object>());
-            }
-            //noinspection unchecked
-            currentMap = (Map<String, Object>) currentMap.get(k);
+    /**
+     * Returns the live Map stored at the specified key path, creating it (and its parents) if needed.
+     * Entries put into the returned Map are stored as-is, which is the fastest way to fill a section
+     * with many keys, and keeps keys containing the delimiter intact.
+     *
+     * Example:
+     * <pre>
+     * Map&lt;String, Object&gt; english = yaml.getOrCreateMap(KeyPath.of("translations", "en"));
+     * english.put("menu.title", "Title"); // Stored under the single key "menu.title"
+     * </pre>
+     *
+     * @param path The key path to the section
+     * @return The Map of the section (never null)
+     */
+    @SuppressWarnings("unchecked")
+    @NotNull
+    public Map<String, Object> getOrCreateMap(@NotNull KeyPath path){
+        Map<String, Object> parent = path.parent(this.data, true);
+        Object value = parent.get(path.last());
+        if (value instanceof Map){
+            return (Map<String, Object>) value;
         }
-        currentMap.put(keys[keys.length - 1], value);
+        Map<String, Object> map = new LinkedHashMap<>();
+        parent.put(path.last(), map);
+        return map;
     }
 
     /**
@@ -158,25 +187,18 @@ public class SnakeUtils implements AutoCloseable {
         if (key.isEmpty() || this.data == null){
             return null;
         }
+        return getValue(KeyPath.parse(key, delimiter));
+    }
 
-        String[] keys = key.split(Pattern.quote(delimiter));
-
-        if (keys.length == 0){
-            return null;
-        }
-
-        Map<String, Object> currentMap = this.data;
-
-        for (int i = 0; i < keys.length - 1; i++){
-            String k = keys[i];
-            if (!currentMap.containsKey(k) || !(currentMap.get(k) instanceof Map)){
-                return null;
-            }
-            //noinspection unchecked
-            currentMap = (Map<String, Object>) currentMap.get(k);
-        }
-
-        return currentMap.get(keys[keys.length - 1]);
+    /**
+     * Retrieves a value from the data using a pre-split key path.
+     *
+     * @param path The key path
+     * @return The value found, or null if absent or path is invalid
+     */
+    @Nullable
+    public Object getValue(@NotNull KeyPath path){
+        return path.get(this.data);
     }
 
     /**
@@ -399,14 +421,7 @@ public class SnakeUtils implements AutoCloseable {
 
         try {
             File tempFile = File.createTempFile("snakeutils_section_" + key.replace(".", "_"), ".yml");
-
-            DumperOptions options = new DumperOptions();
-            options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-            Yaml yaml = new Yaml(options);
-
-            try (FileWriter writer = new FileWriter(tempFile)){
-                yaml.dump(sectionData, writer);
-            }
+            writeYaml(sectionData, tempFile, false);
 
             SnakeUtils sectionUtils = new SnakeUtils(tempFile);
 
@@ -626,25 +641,18 @@ public class SnakeUtils implements AutoCloseable {
         if (key.isEmpty() || this.data == null){
             return false;
         }
+        return removeData(KeyPath.parse(key, delimiter));
+    }
 
-        String[] keys = key.split(Pattern.quote(delimiter));
-
-        if (keys.length == 0){
-            return false;
-        }
-
-        Map<String, Object> currentMap = this.data;
-
-        for (int i = 0; i < keys.length - 1; i++){
-            String k = keys[i];
-            if (!currentMap.containsKey(k) || !(currentMap.get(k) instanceof Map)){
-                return false;
-            }
-            //noinspection unchecked
-            currentMap = (Map<String, Object>) currentMap.get(k);
-        }
-
-        return currentMap.remove(keys[keys.length - 1]) != null;
+    /**
+     * Removes a key and its value from the data using a pre-split key path.
+     *
+     * @param path The key path
+     * @return true if the key was removed, false if it didn't exist
+     */
+    public boolean removeData(@NotNull KeyPath path){
+        Map<String, Object> parent = path.parent(this.data, false);
+        return parent != null && parent.remove(path.last()) != null;
     }
 
     /**
@@ -666,18 +674,26 @@ public class SnakeUtils implements AutoCloseable {
      * @throws IOException If the file cannot be written
      */
     public void save(@NotNull File file) throws IOException {
+        save(file, false);
+    }
+
+    /**
+     * Saves the current data to a specific file, optionally atomically.
+     * Creates parent directories if they don't exist.
+     * <p>
+     * An atomic save writes a temporary file next to the destination and renames it over the destination,
+     * so that a crash or a concurrent reader never sees a partially written file.
+     *
+     * @param file The destination file for saving
+     * @param atomic true to write through a temporary file and rename it
+     * @throws IOException If the file cannot be written
+     */
+    public void save(@NotNull File file, boolean atomic) throws IOException {
         File parentDir = file.getParentFile();
         if (parentDir != null && !parentDir.exists() && !parentDir.mkdirs()){
             throw new IOException("Failed to create parent directories for file: " + file);
         }
-
-        DumperOptions options = new DumperOptions();
-        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-        Yaml yaml = new Yaml(options);
-
-        try (FileWriter writer = new FileWriter(file)){
-            yaml.dump(this.data, writer);
-        }
+        writeYaml(this.data, file, atomic);
     }
 
     /**
@@ -688,13 +704,10 @@ public class SnakeUtils implements AutoCloseable {
      * @throws IOException If the file cannot be read
      */
     public void reload() throws IOException {
-        Yaml yaml = new Yaml();
-        try (FileInputStream fis = new FileInputStream(this.targetFile)){
-            Map<String, Object> newData = yaml.load(fis);
-            this.data.clear();
-            if (newData != null){
-                this.data.putAll(newData);
-            }
+        Map<String, Object> newData = readYaml(this.targetFile);
+        this.data.clear();
+        if (newData != null){
+            this.data.putAll(newData);
         }
     }
 
@@ -811,10 +824,7 @@ public class SnakeUtils implements AutoCloseable {
      */
     @NotNull
     public String toYamlString(){
-        DumperOptions options = new DumperOptions();
-        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-        Yaml yaml = new Yaml(options);
-        return yaml.dump(this.data);
+        return YAML.get().dump(this.data);
     }
 
     // =============== STATIC METHODS ===============
@@ -866,9 +876,7 @@ public class SnakeUtils implements AutoCloseable {
     public static SnakeUtils createEmpty(){
         try {
             File tempFile = File.createTempFile("snakeutils_empty_", ".yml");
-            try (FileWriter writer = new FileWriter(tempFile)){
-                writer.write("{}");
-            }
+            Files.writeString(tempFile.toPath(), "{}", StandardCharsets.UTF_8);
             SnakeUtils utils = new SnakeUtils(tempFile);
             utils.clear();
             tempFile.deleteOnExit();
@@ -904,9 +912,7 @@ public class SnakeUtils implements AutoCloseable {
             }
 
             if (!targetFile.exists()) {
-                try (FileWriter writer = new FileWriter(targetFile)){
-                    writer.write("{}");
-                }
+                Files.writeString(targetFile.toPath(), "{}", StandardCharsets.UTF_8);
             }
 
             SnakeUtils utils = new SnakeUtils(targetFile);
@@ -934,6 +940,19 @@ public class SnakeUtils implements AutoCloseable {
      * @return true if the save was successful, false if an IOException occurred
      */
     public static boolean saveToFile(@NotNull Map<String, Object> data, @NotNull File file){
+        return saveToFile(data, file, false);
+    }
+
+    /**
+     * Saves a Map directly to a YAML file, optionally atomically.
+     * See {@link #save(File, boolean)} for what an atomic save guarantees.
+     *
+     * @param data The data Map to save
+     * @param file The destination file
+     * @param atomic true to write through a temporary file and rename it
+     * @return true if the save was successful, false if an IOException occurred
+     */
+    public static boolean saveToFile(@NotNull Map<String, Object> data, @NotNull File file, boolean atomic){
         try {
             File parentDir = file.getParentFile();
             if (parentDir != null && !parentDir.exists() && !parentDir.mkdirs()){
@@ -941,13 +960,7 @@ public class SnakeUtils implements AutoCloseable {
                 return false;
             }
 
-            DumperOptions options = new DumperOptions();
-            options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
-            Yaml yaml = new Yaml(options);
-
-            try (FileWriter writer = new FileWriter(file)){
-                yaml.dump(data, writer);
-            }
+            writeYaml(data, file, atomic);
             return true;
         } catch (IOException e){
             Logger.showException("Failed to save YAML file: " + file, e);
@@ -976,9 +989,8 @@ public class SnakeUtils implements AutoCloseable {
             return null;
         }
 
-        try (FileInputStream fis = new FileInputStream(file)){
-            Yaml yaml = new Yaml();
-            return yaml.load(fis);
+        try {
+            return readYaml(file);
         } catch (IOException e){
             Logger.showException("Failed to load YAML file: " + file, e);
             return null;
@@ -1007,4 +1019,44 @@ public class SnakeUtils implements AutoCloseable {
             save();
         }
     }
+
+    // =============== INTERNAL I/O ===============
+
+    private static Yaml createYaml() {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        return new Yaml(options);
+    }
+
+    @Nullable
+    private static Map<String, Object> readYaml(@NotNull File file) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file.toPath())){
+            return YAML.get().load(inputStream);
+        }
+    }
+
+    private static void writeYaml(@NotNull Object data, @NotNull File file, boolean atomic) throws IOException {
+        Path target = file.toPath();
+        if (!atomic){
+            try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)){
+                YAML.get().dump(data, writer);
+            }
+            return;
+        }
+
+        Path directory = target.toAbsolutePath().getParent();
+        Path tempFile = Files.createTempFile(directory, file.getName(), ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)){
+                YAML.get().dump(data, writer);
+            }
+            try {
+                Files.move(tempFile, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e){
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
 }
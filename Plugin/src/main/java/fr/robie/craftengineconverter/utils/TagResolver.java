@@ -1,19 +1,34 @@
 package fr.robie.craftengineconverter.utils;
 
+import fr.robie.craftengineconverter.common.CraftEngineImageUtils;
+import fr.robie.craftengineconverter.common.cache.BoundedCache;
 import fr.robie.craftengineconverter.common.configuration.Configuration;
+import fr.robie.craftengineconverter.common.format.ComponentMeta;
 import fr.robie.craftengineconverter.common.tag.ITagResolver;
+import fr.robie.craftengineconverter.common.tag.TagMarkers;
 import fr.robie.craftengineconverter.common.tag.TagProcessor;
 import fr.robie.craftengineconverter.hooks.placeholderapi.tag.PlaceholderAPITag;
 import fr.robie.craftengineconverter.tag.GlyphTagProcessor;
 import fr.robie.craftengineconverter.utils.plugins.Plugins;
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 public class TagResolver implements ITagResolver {
     private final List<TagProcessor> tagProcessors = new ArrayList<>();
+    private final List<TagMarkers> processorMarkers = new ArrayList<>();
+    // Tags of the processors declaring their prefixes are all resolved by a single scan, see resolveTags
+    private final List<PrefixOwner> prefixOwners = new ArrayList<>();
+    private final List<TagProcessor> undeclaredProcessors = new ArrayList<>();
+    private int maxPrefixLength = 0;
+    private volatile TagMarkers tagMarkers = TagMarkers.NONE;
+    // Components whose tags do not depend on the player, resolved once for all the players they are sent to.
+    // An empty value means the component had nothing to resolve
+    private final BoundedCache<Component, Optional<Component>> sharedResolutions = new BoundedCache<>(Configuration.componentCacheSize);
 
     @Override
     public void initTagProcessors() {
@@ -23,14 +38,44 @@ public class TagResolver implements ITagResolver {
         if (Plugins.PLACEHOLDER_API.isPresent()){
             this.tagProcessors.add(new PlaceholderAPITag());
         }
+        for (TagProcessor processor : this.tagProcessors) {
+            this.processorMarkers.add(TagMarkers.of(List.of(processor)));
+            if (processor.getPrefixes() == null || processor.getPrefixes().isEmpty()) {
+                this.undeclaredProcessors.add(processor);
+                continue;
+            }
+            for (String prefix : processor.getPrefixes()) {
+                // The first processor registered for a prefix owns it
+                if (this.prefixOwners.stream().noneMatch(owner -> owner.prefix().equals(prefix))) {
+                    this.prefixOwners.add(new PrefixOwner(prefix, processor));
+                    this.maxPrefixLength = Math.max(this.maxPrefixLength, prefix.length());
+                }
+            }
+        }
+        this.tagMarkers = TagMarkers.of(this.tagProcessors);
+        // Shared resolutions hold the glyphs rendered at the time they were resolved
+        CraftEngineImageUtils.addChangeListener(this.sharedResolutions::clear);
     }
 
+    /**
+     * Resolves the tags of every processor declaring its prefixes in a single pass over the message, appending the
+     * text and the resolved tags to one builder. Processors that do not declare prefixes are then run one after
+     * the other on the result, as they need their own pattern to find their tags.
+     */
     @Override
     public Optional<String> resolveTags(String message, Player player) {
         String result = message;
         boolean modified = false;
 
-        for (TagProcessor processor : this.tagProcessors) {
+        if (!this.prefixOwners.isEmpty()) {
+            StringBuilder builder = scanTags(message, player);
+            if (builder != null) {
+                result = builder.toString();
+                modified = true;
+            }
+        }
+
+        for (TagProcessor processor : this.undeclaredProcessors) {
             if (!processor.hasTag(result)) {
                 continue;
             }
@@ -44,5 +89,144 @@ public class TagResolver implements ITagResolver {
         return modified ? Optional.of(result) : Optional.empty();
     }
 
+    /**
+     * @return the resolved message, or null if no tag was resolved
+     */
+    private StringBuilder scanTags(String message, Player player) {
+        StringBuilder builder = null;
+        int copied = 0;
+        int start = message.indexOf('<');
+        while (start != -1) {
+            int colon = findPrefixEnd(message, start + 1);
+            PrefixOwner owner = colon == -1 ? null : findOwner(message, start + 1, colon);
+            if (owner == null) {
+                start = message.indexOf('<', start + 1);
+                continue;
+            }
+
+            int end = message.indexOf('>', colon + 1);
+            if (end == -1) break;
+            if (end == colon + 1) {
+                // Empty argument, not a tag
+                start = message.indexOf('<', start + 1);
+                continue;
+            }
+
+            // An escaping backslash is part of the tag, processors decide what to do with it
+            int tagStart = start > copied && message.charAt(start - 1) == '\\' ? start - 1 : start;
+            String argument = message.substring(colon + 1, end);
+            String raw = message.substring(tagStart, end + 1);
+            Optional<String> resolved = owner.processor().resolveTag(owner.prefix(), argument, raw, player);
+            if (resolved.isPresent()) {
+                if (builder == null) builder = new StringBuilder(message.length() + 16);
+                builder.append(message, copied, tagStart).append(resolved.get());
+                copied = end + 1;
+            }
+            start = message.indexOf('<', end + 1);
+        }
+
+        if (builder != null) {
+            builder.append(message, copied, message.length());
+        }
+        return builder;
+    }
+
+    /**
+     * @return the index of the ':' closing a possible tag prefix starting at {@code from}, or -1
+     */
+    private int findPrefixEnd(String message, int from) {
+        int limit = Math.min(message.length(), from + this.maxPrefixLength + 1);
+        for (int i = from; i < limit; i++) {
+            char c = message.charAt(i);
+            if (c == ':') return i > from ? i : -1;
+            if (c == '<' || c == '>') return -1;
+        }
+        return -1;
+    }
+
+    private PrefixOwner findOwner(String message, int from, int to) {
+        int length = to - from;
+        for (PrefixOwner owner : this.prefixOwners) {
+            if (owner.prefix().length() == length && message.regionMatches(from, owner.prefix(), 0, length)) {
+                return owner;
+            }
+        }
+        return null;
+    }
+
+    private record PrefixOwner(String prefix, TagProcessor processor) {
+    }
 
+    @Override
+    public boolean hasTags(Component component) {
+        return component != null && this.tagMarkers.containsAny(component);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * When none of the processors with tags in the component depends on the player, the result is cached and
+     * reused for the next players the same component is sent to, a broadcast is only resolved once.
+     * </p>
+     */
+    @Override
+    public Optional<Component> resolveTags(Component component, Player player, ComponentMeta formatter) {
+        List<TagProcessor> matching = new ArrayList<>(this.tagProcessors.size());
+        boolean inTree = true;
+        boolean playerDependent = false;
+        for (int i = 0; i < this.tagProcessors.size(); i++) {
+            TagProcessor processor = this.tagProcessors.get(i);
+            if (this.processorMarkers.get(i).containsAny(component)) {
+                matching.add(processor);
+                inTree &= processor.supportsComponents();
+                playerDependent |= processor.isPlayerDependent();
+            }
+        }
+        if (matching.isEmpty()) {
+            return Optional.empty();
+        }
+
+        if (!playerDependent) {
+            final boolean resolveInTree = inTree;
+            return this.sharedResolutions.get(component, key -> resolveTags(key, player, formatter, matching, resolveInTree));
+        }
+        return resolveTags(component, player, formatter, matching, inTree);
+    }
+
+    private Optional<Component> resolveTags(Component component, Player player, ComponentMeta formatter,
+                                            List<TagProcessor> matching, boolean inTree) {
+        // Legacy colors are only converted when parsing, the in-place path would leave them as written
+        if (!inTree || ComponentMeta.containsLegacyFormatting(component)) {
+            return resolveTags(ComponentMeta.getPlainText(component), player).map(formatter::getComponent);
+        }
+
+        Component result = component;
+        boolean modified = false;
+        for (TagProcessor processor : matching) {
+            Optional<Component> processed = processor.process(result, player);
+            if (processed.isPresent()) {
+                result = processed.get();
+                modified = true;
+            }
+        }
+        return modified ? Optional.of(formatter.normalize(result)) : Optional.empty();
+    }
+
+    /**
+     * Applies the configured cache size to the shared resolutions, evicting entries if it was reduced.
+     */
+    public void resizeCache() {
+        this.sharedResolutions.setMaximumSize(Configuration.componentCacheSize);
+    }
+
+    public BoundedCache.Stats getCacheStats() {
+        return this.sharedResolutions.stats();
+    }
+
+    @Override
+    public void invalidatePlayer(UUID playerId) {
+        for (TagProcessor processor : this.tagProcessors) {
+            processor.invalidate(playerId);
+        }
+    }
 }
@@ -0,0 +1,151 @@
+package fr.robie.craftengineconverter.utils.manager;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A template parsed once into an immutable tree where every {@code %placeholder%} has already been located.
+ * Instantiating it only walks the tree and copies it into fresh mutable maps and lists, callers are free to
+ * modify the result.
+ */
+public final class CompiledTemplate {
+    private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("%[A-Za-z0-9_]+%");
+
+    private final MapNode root;
+
+    private CompiledTemplate(MapNode root) {
+        this.root = root;
+    }
+
+    public static @NotNull CompiledTemplate compile(@NotNull Map<String, Object> template) {
+        return new CompiledTemplate(compileMap(template));
+    }
+
+    /**
+     * Builds a new copy of the template.
+     *
+     * @param args placeholder/value pairs, e.g. {@code "%model_path%", "minecraft:item/stick"}. A string made of a
+     *             single placeholder is replaced by the raw value, otherwise the value is inserted as text.
+     *             Placeholders without a value are left untouched.
+     */
+    public @NotNull Map<String, Object> instantiate(Object @NotNull ... args) {
+        return this.root.instantiate(args);
+    }
+
+    private static MapNode compileMap(Map<?, ?> map) {
+        Node[] keys = new Node[map.size()];
+        Node[] values = new Node[map.size()];
+        int i = 0;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            keys[i] = compileString(String.valueOf(entry.getKey()));
+            values[i] = compileValue(entry.getValue());
+            i++;
+        }
+        return new MapNode(keys, values);
+    }
+
+    private static Node compileValue(Object value) {
+        return switch (value) {
+            case String string -> compileString(string);
+            case Map<?, ?> map -> compileMap(map);
+            case List<?> list -> {
+                Node[] items = new Node[list.size()];
+                for (int i = 0; i < items.length; i++) {
+                    items[i] = compileValue(list.get(i));
+                }
+                yield new ListNode(items);
+            }
+            case null, default -> new LiteralNode(value);
+        };
+    }
+
+    private static Node compileString(String value) {
+        Matcher matcher = PLACEHOLDER_PATTERN.matcher(value);
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        int last = 0;
+        while (matcher.find()) {
+            literals.add(value.substring(last, matcher.start()));
+            placeholders.add(matcher.group());
+            last = matcher.end();
+        }
+        if (placeholders.isEmpty()) {
+            return new LiteralNode(value);
+        }
+        literals.add(value.substring(last));
+        if (placeholders.size() == 1 && literals.getFirst().isEmpty() && literals.getLast().isEmpty()) {
+            return new PlaceholderNode(placeholders.getFirst());
+        }
+        return new InterpolatedNode(literals.toArray(new String[0]), placeholders.toArray(new String[0]));
+    }
+
+    private static @Nullable Object lookup(Object[] args, String placeholder) {
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (placeholder.equals(args[i])) {
+                return args[i + 1];
+            }
+        }
+        return null;
+    }
+
+    private interface Node {
+        Object instantiate(Object[] args);
+    }
+
+    private record LiteralNode(Object value) implements Node {
+        @Override
+        public Object instantiate(Object[] args) {
+            return this.value;
+        }
+    }
+
+    private record PlaceholderNode(String placeholder) implements Node {
+        @Override
+        public Object instantiate(Object[] args) {
+            Object value = lookup(args, this.placeholder);
+            return value != null ? value : this.placeholder;
+        }
+    }
+
+    private record InterpolatedNode(String[] literals, String[] placeholders) implements Node {
+        @Override
+        public Object instantiate(Object[] args) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < this.placeholders.length; i++) {
+                builder.append(this.literals[i]);
+                Object value = lookup(args, this.placeholders[i]);
+                builder.append(value != null ? String.valueOf(value) : this.placeholders[i]);
+            }
+            return builder.append(this.literals[this.placeholders.length]).toString();
+        }
+    }
+
+    private record ListNode(Node[] items) implements Node {
+        @Override
+        public Object instantiate(Object[] args) {
+            List<Object> result = new ArrayList<>(this.items.length);
+            for (Node item : this.items) {
+                result.add(item.instantiate(args));
+            }
+            return result;
+        }
+    }
+
+    private record MapNode(Node[] keys, Node[] values) implements Node {
+        @Override
+        public Map<String, Object> instantiate(Object[] args) {
+            Map<String, Object> result = new LinkedHashMap<>(Math.max(4, (int) (this.keys.length / 0.75f) + 1));
+            for (int i = 0; i < this.keys.length; i++) {
+                result.put(String.valueOf(this.keys[i].instantiate(args)), this.values[i].instantiate(args));
+            }
+            return result;
+        }
+    }
+}
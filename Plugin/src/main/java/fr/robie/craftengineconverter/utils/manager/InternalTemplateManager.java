@@ -14,7 +14,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 public class InternalTemplateManager {
-    private static final Map<Template,YamlConfiguration> templates = new HashMap<>();
+    private static volatile Map<Template, CompiledTemplate> templates = new EnumMap<>(Template.class);
     private final CraftEngineConverter craftEngineConverter;
 
     public InternalTemplateManager(CraftEngineConverter craftEngineConverter) {
@@ -22,6 +22,7 @@ public class InternalTemplateManager {
     }
 
     public boolean loadTemplates(){
+        Map<Template, CompiledTemplate> compiledTemplates = new EnumMap<>(Template.class);
         try {
             for (Template template : Template.values()) {
                 InputStream inputStream = this.craftEngineConverter.getResource(template.getPath() + ".yml");
@@ -30,21 +31,20 @@ public class InternalTemplateManager {
                     continue;
                 }
                 YamlConfiguration yamlConfiguration = YamlConfiguration.loadConfiguration(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
-                templates.put(template,yamlConfiguration);
+                compiledTemplates.put(template, CompiledTemplate.compile(convertConfigurationSectionToMap(yamlConfiguration)));
             }
         } catch (Exception ex) {
             return false;
+        } finally {
+            templates = compiledTemplates;
         }
         return true;
     }
 
     public static @Nullable Map<String,Object> getTemplate(Template template){
-        YamlConfiguration yamlConfiguration = templates.get(template);
-        if (yamlConfiguration == null) return null;
-
-        String yamlString = yamlConfiguration.saveToString();
-        YamlConfiguration copy = YamlConfiguration.loadConfiguration(new java.io.StringReader(yamlString));
-        return convertConfigurationSectionToMap(copy);
+        CompiledTemplate compiledTemplate = templates.get(template);
+        if (compiledTemplate == null) return null;
+        return compiledTemplate.instantiate();
     }
 
     private static Map<String, Object> convertConfigurationSectionToMap(ConfigurationSection section) {
@@ -83,59 +83,11 @@ public class InternalTemplateManager {
             return new LinkedHashMap<>();
         }
 
-        Map<String, Object> replacements = new LinkedHashMap<>();
-        for (int i = 0; i < args.length; i += 2) {
-            replacements.put(String.valueOf(args[i]), args[i + 1]);
-        }
-
-        Map<String, Object> templateMap = getTemplate(template);
-        if (templateMap == null){
+        CompiledTemplate compiledTemplate = templates.get(template);
+        if (compiledTemplate == null){
             return new LinkedHashMap<>();
         }
 
-        return parseValues(templateMap, replacements);
-    }
-
-    @SuppressWarnings({"unchecked"})
-    private static Object parseObject(Object obj, Map<String, Object> replacements) {
-        return switch (obj) {
-            case String string -> parseStringValue(string, replacements);
-            case Map<?, ?> map -> parseValues((Map<String, Object>) map, replacements);
-            case List<?> list -> parseList(list, replacements);
-            case null, default -> obj;
-        };
-    }
-
-    private static Map<String, Object> parseValues(Map<String, Object> map, Map<String, Object> replacements) {
-        Map<String, Object> result = new LinkedHashMap<>();
-        for (Map.Entry<String, Object> entry : map.entrySet()) {
-            Object parsedKey = parseStringValue(entry.getKey(), replacements);
-            result.put(parsedKey instanceof String string ? string : String.valueOf(parsedKey),
-                      parseObject(entry.getValue(), replacements));
-        }
-        return result;
-    }
-
-    private static List<Object> parseList(List<?> list, Map<String, Object> replacements) {
-        List<Object> result = new ArrayList<>();
-        for (Object item : list) {
-            result.add(parseObject(item, replacements));
-        }
-        return result;
-    }
-
-    private static Object parseStringValue(String str, Map<String, Object> replacements) {
-        Object directReplacement = replacements.get(str);
-        if (directReplacement != null) {
-            return directReplacement;
-        }
-
-        String result = str;
-        for (Map.Entry<String, Object> replacement : replacements.entrySet()) {
-            if (replacement.getValue() != null) {
-                result = result.replace(replacement.getKey(), String.valueOf(replacement.getValue()));
-            }
-        }
-        return result;
+        return compiledTemplate.instantiate(args);
     }
 }
@@ -3,7 +3,8 @@ package fr.robie.craftengineconverter.utils.permission;
 public enum Permission {
     COMMAND_USE("Allows the user to use the main command of the plugin."),
     COMMAND_RELOAD("Allows the user to reload the plugin configuration."),
-    COMMAND_CONVERT("Allows the user to convert assets for CraftEngine")
+    COMMAND_CONVERT("Allows the user to convert assets for CraftEngine"),
+    COMMAND_WATCH("Allows the user to toggle automatic reconversion of changed sources")
 
     ;
     private final String description;
@@ -0,0 +1,127 @@
+package fr.robie.craftengineconverter.utils.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parses YAML sources into plain maps, for converters that only need to read them.
+ * <p>
+ * Unlike {@code YamlConfiguration.loadConfiguration}, no {@code MemorySection} tree is built: the document is
+ * parsed once into {@link LinkedHashMap}s and lists, and read through a {@link YamlView}. {@link Yaml} instances are
+ * not thread-safe and costly to create, so each thread reuses its own.
+ */
+public final class FastYamlLoader {
+    private static final ThreadLocal<Yaml> YAML = ThreadLocal.withInitial(FastYamlLoader::createYaml);
+
+    private FastYamlLoader() {
+    }
+
+    /**
+     * Parses a file. An empty file gives an empty view.
+     *
+     * @throws IOException if the file cannot be read
+     * @throws org.yaml.snakeyaml.error.YAMLException if the file is not valid YAML
+     * @throws IllegalArgumentException if the root of the document is not a map
+     */
+    public static @NotNull YamlView load(@NotNull Path path) throws IOException {
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return toView(YAML.get().load(reader));
+        }
+    }
+
+    public static @NotNull YamlView loadFromString(@NotNull String content) {
+        return toView(YAML.get().load(content));
+    }
+
+    private static YamlView toView(Object root) {
+        if (root == null) {
+            return new YamlView(new LinkedHashMap<>());
+        }
+        if (!(root instanceof Map<?, ?> map)) {
+            throw new IllegalArgumentException("Top level is not a map");
+        }
+        return new YamlView(normalizeSection(map));
+    }
+
+    /**
+     * Converts a section the way Bukkit loads it, so that paths resolve to the same values: every key becomes a
+     * string, and a key containing {@code '.'} is expanded into nested sections, a later key replacing an earlier
+     * value at the same path.
+     */
+    private static Map<String, Object> normalizeSection(Map<?, ?> map) {
+        Map<String, Object> normalized = new LinkedHashMap<>(Math.max(4, (int) (map.size() / 0.75f) + 1));
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Object value = entry.getValue() instanceof Map<?, ?> child ? normalizeSection(child) : normalize(entry.getValue());
+            putPath(normalized, String.valueOf(entry.getKey()), value);
+        }
+        return normalized;
+    }
+
+    private static void putPath(Map<String, Object> section, String path, Object value) {
+        Map<String, Object> current = section;
+        int start = 0;
+        int separator;
+        while ((separator = path.indexOf('.', start)) != -1) {
+            String key = path.substring(start, separator);
+            if (current.get(key) instanceof Map<?, ?> child) {
+                current = cast(child);
+            } else {
+                Map<String, Object> created = new LinkedHashMap<>();
+                current.put(key, created);
+                current = created;
+            }
+            start = separator + 1;
+        }
+        current.put(start == 0 ? path : path.substring(start), value);
+    }
+
+    /**
+     * Maps inside lists are not sections for Bukkit either, their keys are only converted to strings.
+     */
+    private static Map<String, Object> normalizeMap(Map<?, ?> map) {
+        Map<String, Object> normalized = new LinkedHashMap<>(Math.max(4, (int) (map.size() / 0.75f) + 1));
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            normalized.put(String.valueOf(entry.getKey()), normalize(entry.getValue()));
+        }
+        return normalized;
+    }
+
+    private static Object normalize(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            return normalizeMap(map);
+        }
+        if (value instanceof List<?> list) {
+            List<Object> normalized = new ArrayList<>(list.size());
+            for (Object element : list) {
+                normalized.add(normalize(element));
+            }
+            return normalized;
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> cast(Map<?, ?> map) {
+        // Only maps created by normalizeSection are nested into
+        return (Map<String, Object>) map;
+    }
+
+    private static Yaml createYaml() {
+        LoaderOptions options = new LoaderOptions();
+        // Same limits as Bukkit, large packs legitimately exceed the SnakeYAML defaults
+        options.setMaxAliasesForCollections(Integer.MAX_VALUE);
+        options.setCodePointLimit(Integer.MAX_VALUE);
+        return new Yaml(options);
+    }
+}
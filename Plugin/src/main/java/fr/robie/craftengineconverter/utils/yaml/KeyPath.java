@@ -0,0 +1,166 @@
+package fr.robie.craftengineconverter.utils.yaml;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A key path split into its segments once, to walk nested maps without splitting a string on every access.
+ * <p>
+ * {@link #parse(String, String)} splits on a delimiter; a backslash escapes the next character, so {@code "a\.b"}
+ * is the single segment {@code a.b}. Parsed paths are cached, as the same few paths are usually looked up over
+ * and over. {@link #of(String...)} takes the segments as they are, which is what keys coming from data (e.g.
+ * translation keys that contain dots) need.
+ */
+public final class KeyPath {
+    private static final int MAX_CACHED_PATHS = 1024;
+    private static final char ESCAPE = '\\';
+    private static final Map<String, Map<String, KeyPath>> CACHE = new ConcurrentHashMap<>();
+
+    private final String[] segments;
+
+    private KeyPath(String[] segments) {
+        this.segments = segments;
+    }
+
+    /**
+     * Creates a path from literal segments, no delimiter or escape is interpreted.
+     */
+    public static @NotNull KeyPath of(@NotNull String... segments) {
+        if (segments.length == 0) {
+            throw new IllegalArgumentException("A key path needs at least one segment");
+        }
+        return new KeyPath(segments.clone());
+    }
+
+    public static @NotNull KeyPath parse(@NotNull String path) {
+        return parse(path, ".");
+    }
+
+    /**
+     * Splits {@code path} on {@code delimiter}, honouring backslash escapes.
+     *
+     * @throws IllegalArgumentException if the path or the delimiter is empty
+     */
+    public static @NotNull KeyPath parse(@NotNull String path, @NotNull String delimiter) {
+        if (path.isEmpty() || delimiter.isEmpty()) {
+            throw new IllegalArgumentException("Key path and delimiter must not be empty");
+        }
+        Map<String, KeyPath> cache = CACHE.computeIfAbsent(delimiter, ignored -> new ConcurrentHashMap<>());
+        KeyPath keyPath = cache.get(path);
+        if (keyPath == null) {
+            keyPath = new KeyPath(split(path, delimiter));
+            // Paths built from data would grow the cache forever, a full cache simply starts over
+            if (cache.size() >= MAX_CACHED_PATHS) {
+                cache.clear();
+            }
+            cache.put(path, keyPath);
+        }
+        return keyPath;
+    }
+
+    private static String[] split(String path, String delimiter) {
+        if (path.indexOf(ESCAPE) == -1 && !path.contains(delimiter)) {
+            return new String[]{path};
+        }
+
+        List<String> segments = new ArrayList<>();
+        StringBuilder current = new StringBuilder(path.length());
+        int index = 0;
+        while (index < path.length()) {
+            char c = path.charAt(index);
+            if (c == ESCAPE && index + 1 < path.length()) {
+                current.append(path.charAt(index + 1));
+                index += 2;
+            } else if (path.startsWith(delimiter, index)) {
+                segments.add(current.toString());
+                current.setLength(0);
+                index += delimiter.length();
+            } else {
+                current.append(c);
+                index++;
+            }
+        }
+        segments.add(current.toString());
+        return segments.toArray(new String[0]);
+    }
+
+    /**
+     * Escapes a key so that {@link #parse(String, String)} reads it back as a single segment.
+     */
+    public static @NotNull String escape(@NotNull String key, @NotNull String delimiter) {
+        return key.replace(String.valueOf(ESCAPE), "" + ESCAPE + ESCAPE).replace(delimiter, ESCAPE + delimiter);
+    }
+
+    public @NotNull KeyPath child(@NotNull String segment) {
+        String[] child = Arrays.copyOf(this.segments, this.segments.length + 1);
+        child[this.segments.length] = segment;
+        return new KeyPath(child);
+    }
+
+    public int size() {
+        return this.segments.length;
+    }
+
+    public @NotNull String segment(int index) {
+        return this.segments[index];
+    }
+
+    public @NotNull String last() {
+        return this.segments[this.segments.length - 1];
+    }
+
+    /**
+     * Returns the value at this path, or null if a segment is missing or is not a map.
+     */
+    public Object get(@NotNull Map<String, Object> root) {
+        Map<String, Object> parent = parent(root, false);
+        return parent == null ? null : parent.get(last());
+    }
+
+    /**
+     * Returns the map holding the last segment, creating (or replacing non-map values with) the missing maps
+     * when {@code create} is true.
+     *
+     * @return the parent map, or null if it is missing and {@code create} is false
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> parent(@NotNull Map<String, Object> root, boolean create) {
+        Map<String, Object> current = root;
+        for (int i = 0; i < this.segments.length - 1; i++) {
+            Object child = current.get(this.segments[i]);
+            if (!(child instanceof Map)) {
+                if (!create) return null;
+                child = new LinkedHashMap<String, Object>();
+                current.put(this.segments[i], child);
+            }
+            current = (Map<String, Object>) child;
+        }
+        return current;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof KeyPath keyPath && Arrays.equals(this.segments, keyPath.segments));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.segments);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < this.segments.length; i++) {
+            if (i > 0) builder.append('.');
+            builder.append(escape(this.segments[i], "."));
+        }
+        return builder.toString();
+    }
+}
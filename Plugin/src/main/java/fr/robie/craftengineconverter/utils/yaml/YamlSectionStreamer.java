@@ -0,0 +1,279 @@
+package fr.robie.craftengineconverter.utils.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.events.*;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Reads the top-level sections of a YAML file one at a time, with SnakeYAML's event API.
+ * <p>
+ * Only the events of the current section are kept in memory, so a file far larger than the heap can spare is
+ * handled section by section. A section can be written back with {@link #emit(String, List, int)} without ever
+ * building its objects, which is safe to do from several threads at once.
+ * <p>
+ * Aliases pointing to an anchor of a previous section are replaced by a copy of the anchored node, so every
+ * section stands on its own. Any later section may refer to an anchor, so the events of every anchored node are
+ * kept until the streamer is closed: a file anchoring most of its content is held in memory as a whole, a file
+ * without anchors keeps nothing.
+ */
+public final class YamlSectionStreamer implements AutoCloseable {
+    private static final ThreadLocal<Yaml> YAML = ThreadLocal.withInitial(YamlSectionStreamer::createYaml);
+    private static final Resolver RESOLVER = new Resolver();
+
+    private final Reader reader;
+    private final Iterator<Event> events;
+    private final Map<String, List<Event>> anchoredNodes = new HashMap<>();
+    private boolean finished = false;
+
+    /**
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if the root of the document is not a map
+     */
+    public YamlSectionStreamer(@NotNull Path file) throws IOException {
+        this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        try {
+            this.events = YAML.get().parse(this.reader).iterator();
+            openRootMapping();
+        } catch (RuntimeException e) {
+            this.reader.close();
+            throw e;
+        }
+    }
+
+    private void openRootMapping() {
+        while (this.events.hasNext()) {
+            Event event = this.events.next();
+            switch (event.getEventId()) {
+                case StreamStart, DocumentStart -> {
+                }
+                case MappingStart -> {
+                    return;
+                }
+                case StreamEnd -> {
+                    this.finished = true;
+                    return;
+                }
+                default -> throw new IllegalArgumentException("Top level is not a map");
+            }
+        }
+        this.finished = true;
+    }
+
+    /**
+     * Reads the next top-level section.
+     *
+     * @return the section, or null once every section has been read
+     */
+    public @Nullable Section next() {
+        if (this.finished || !this.events.hasNext()) {
+            this.finished = true;
+            return null;
+        }
+
+        Event keyEvent = this.events.next();
+        if (keyEvent instanceof MappingEndEvent) {
+            this.finished = true;
+            return null;
+        }
+        if (!(keyEvent instanceof ScalarEvent keyScalar)) {
+            throw new IllegalArgumentException("Unsupported top-level key at " + keyEvent.getStartMark());
+        }
+
+        List<Event> value = new ArrayList<>();
+        Set<String> sectionAnchors = new HashSet<>();
+        Deque<OpenAnchor> openAnchors = new ArrayDeque<>();
+        int depth = 0;
+        do {
+            Event event = this.events.next();
+
+            if (event instanceof AliasEvent alias && !sectionAnchors.contains(alias.getAnchor())) {
+                List<Event> anchored = this.anchoredNodes.get(alias.getAnchor());
+                if (anchored != null) {
+                    value.addAll(anchored);
+                    sectionAnchors.add(alias.getAnchor());
+                    continue;
+                }
+            }
+
+            value.add(event);
+
+            if (event instanceof NodeEvent node && !(event instanceof AliasEvent) && node.getAnchor() != null) {
+                sectionAnchors.add(node.getAnchor());
+                if (event instanceof ScalarEvent) {
+                    this.anchoredNodes.put(node.getAnchor(), List.of(event));
+                } else {
+                    openAnchors.push(new OpenAnchor(node.getAnchor(), value.size() - 1, depth));
+                }
+            }
+
+            if (event instanceof CollectionStartEvent) {
+                depth++;
+            } else if (event instanceof CollectionEndEvent) {
+                depth--;
+                // Anchored collections close in reverse order of opening
+                if (!openAnchors.isEmpty() && openAnchors.peek().depth() == depth) {
+                    OpenAnchor anchor = openAnchors.pop();
+                    this.anchoredNodes.put(anchor.name(), List.copyOf(value.subList(anchor.index(), value.size())));
+                }
+            }
+        } while (depth > 0);
+
+        boolean mapping = value.get(0) instanceof MappingStartEvent;
+        return new Section(keyScalar.getValue(), value, mapping ? countChildren(value) / 2 : 0, mapping);
+    }
+
+    /**
+     * Counts the nodes directly under the collection {@code events} starts with, keys and values alike. Counted
+     * once the section is complete, so that a value inlined from an alias, even the whole section, is counted.
+     */
+    private static int countChildren(List<Event> events) {
+        int depth = 0;
+        int children = 0;
+        for (Event event : events) {
+            if (depth == 1 && event instanceof NodeEvent) {
+                children++;
+            }
+            if (event instanceof CollectionStartEvent) {
+                depth++;
+            } else if (event instanceof CollectionEndEvent) {
+                depth--;
+            }
+        }
+        return children;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.reader.close();
+    }
+
+    /**
+     * Writes {@code key: <value>} as a block YAML document, every line indented by {@code indent} spaces so that
+     * the result can be placed under a parent key.
+     */
+    public static @NotNull String emit(@NotNull String key, @NotNull List<Event> valueEvents, int indent) throws IOException {
+        StringWriter writer = new StringWriter();
+        Emitter emitter = new Emitter(writer, dumperOptions());
+        emitter.emit(new StreamStartEvent(null, null));
+        emitter.emit(new DocumentStartEvent(null, null, false, null, null));
+        emitter.emit(new MappingStartEvent(null, null, true, null, null, DumperOptions.FlowStyle.BLOCK));
+        // Keys such as "no" or "on" must stay strings
+        boolean plainIsString = RESOLVER.resolve(NodeId.scalar, key, true).equals(Tag.STR);
+        emitter.emit(new ScalarEvent(null, null, new ImplicitTuple(plainIsString, true), key, null, null,
+                plainIsString ? DumperOptions.ScalarStyle.PLAIN : DumperOptions.ScalarStyle.DOUBLE_QUOTED));
+        for (Event event : valueEvents) {
+            emitter.emit(event);
+        }
+        emitter.emit(new MappingEndEvent(null, null));
+        emitter.emit(new DocumentEndEvent(null, null, false));
+        emitter.emit(new StreamEndEvent(null, null));
+        return indent(writer.toString(), indent);
+    }
+
+    /**
+     * Builds the objects of a section, for the rare cases where its content has to be changed.
+     */
+    public static @Nullable Object load(@NotNull List<Event> valueEvents) throws IOException {
+        Object document = YAML.get().load(emit("value", valueEvents, 0));
+        return document instanceof Map<?, ?> map ? map.get("value") : null;
+    }
+
+    /**
+     * Same as {@link #emit(String, List, int)}, for a value built in memory.
+     */
+    public static @NotNull String dump(@NotNull String key, @NotNull Object value, int indent) {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put(key, value);
+        return indent(YAML.get().dump(document), indent);
+    }
+
+    private static String indent(String yaml, int indent) {
+        if (yaml.endsWith("...\n")) {
+            // Document end marker written after open-ended scalars, not valid once nested
+            yaml = yaml.substring(0, yaml.length() - 4);
+        }
+        if (indent == 0) return yaml;
+
+        String padding = " ".repeat(indent);
+        StringBuilder builder = new StringBuilder(yaml.length() + yaml.length() / 8);
+        int start = 0;
+        while (start < yaml.length()) {
+            int end = yaml.indexOf('\n', start);
+            if (end == -1) end = yaml.length() - 1;
+            if (end > start) {
+                builder.append(padding);
+            }
+            builder.append(yaml, start, end + 1);
+            start = end + 1;
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Estimates the number of entries of the top-level sections without parsing the file, by counting the
+     * lines indented like the first child of their section. Meant for progress totals.
+     */
+    public static int estimateSectionEntries(@NotNull Path file) throws IOException {
+        int count = 0;
+        int childIndent = -1;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int indent = 0;
+                while (indent < line.length() && line.charAt(indent) == ' ') indent++;
+                if (indent == line.length() || line.charAt(indent) == '#') continue;
+
+                if (indent == 0) {
+                    childIndent = -1;
+                } else if (childIndent == -1 || indent == childIndent) {
+                    childIndent = indent;
+                    if (line.charAt(indent) != '-') count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static DumperOptions dumperOptions() {
+        DumperOptions options = new DumperOptions();
+        options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        return options;
+    }
+
+    private static Yaml createYaml() {
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setMaxAliasesForCollections(Integer.MAX_VALUE);
+        loaderOptions.setCodePointLimit(Integer.MAX_VALUE);
+        DumperOptions dumperOptions = dumperOptions();
+        return new Yaml(new SafeConstructor(loaderOptions), new Representer(dumperOptions), dumperOptions, loaderOptions);
+    }
+
+    /**
+     * A top-level section and the events of its value.
+     *
+     * @param entries number of keys when the value is a map, 0 otherwise
+     */
+    public record Section(@NotNull String key, @NotNull List<Event> events, int entries, boolean isMapping) {
+    }
+
+    private record OpenAnchor(String name, int index, int depth) {
+    }
+}
@@ -0,0 +1,174 @@
+package fr.robie.craftengineconverter.utils.yaml;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Read-only view over a map parsed by {@link FastYamlLoader}.
+ * <p>
+ * Getters follow the semantics of Bukkit's {@code ConfigurationSection} so that converters can switch from one to
+ * the other: paths are separated by {@code '.'}, keys containing a {@code '.'} in the file are nested sections,
+ * numbers and booleans are only returned when the value has the right type, {@link #getString(String, String)}
+ * returns the text of any other value, and list getters skip the elements they cannot convert. Sub sections are
+ * views over the same map, nothing is copied when navigating.
+ * <p>
+ * Differences with Bukkit: there are no defaults other than the {@code def} argument of the getters, and
+ * {@link #getString(String, String)} gives {@code def} for a section, where Bukkit gives the description of the
+ * {@code MemorySection}.
+ */
+public final class YamlView {
+    private static final char SEPARATOR = '.';
+
+    private final Map<String, Object> values;
+
+    YamlView(@NotNull Map<String, Object> values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns the raw value at {@code path}: a scalar, a {@link List} or a {@link Map} for sections.
+     */
+    public @Nullable Object get(@NotNull String path) {
+        return get(path, null);
+    }
+
+    public @Nullable Object get(@NotNull String path, @Nullable Object def) {
+        Map<String, Object> current = this.values;
+        int start = 0;
+        int separator;
+        while ((separator = path.indexOf(SEPARATOR, start)) != -1) {
+            if (!(current.get(path.substring(start, separator)) instanceof Map<?, ?> child)) {
+                return def;
+            }
+            current = cast(child);
+            start = separator + 1;
+        }
+        Object value = current.get(start == 0 ? path : path.substring(start));
+        return value != null ? value : def;
+    }
+
+    public boolean contains(@NotNull String path) {
+        return get(path) != null;
+    }
+
+    public @NotNull Set<String> getKeys(boolean deep) {
+        Set<String> keys = new LinkedHashSet<>();
+        collectKeys(this.values, "", deep, keys);
+        return keys;
+    }
+
+    private static void collectKeys(Map<String, Object> values, String prefix, boolean deep, Set<String> keys) {
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            String key = prefix + entry.getKey();
+            keys.add(key);
+            if (deep && entry.getValue() instanceof Map<?, ?> child) {
+                collectKeys(cast(child), key + SEPARATOR, true, keys);
+            }
+        }
+    }
+
+    /**
+     * Returns a mutable deep copy of this section, with nested sections as nested maps.
+     */
+    public @NotNull Map<String, Object> toMap() {
+        return deepCopy(this.values);
+    }
+
+    private static Map<String, Object> deepCopy(Map<String, Object> values) {
+        Map<String, Object> copy = new LinkedHashMap<>(values);
+        for (Map.Entry<String, Object> entry : copy.entrySet()) {
+            if (entry.getValue() instanceof Map<?, ?> child) {
+                entry.setValue(deepCopy(cast(child)));
+            }
+        }
+        return copy;
+    }
+
+    public @Nullable YamlView getConfigurationSection(@NotNull String path) {
+        return get(path) instanceof Map<?, ?> child ? new YamlView(cast(child)) : null;
+    }
+
+    public boolean isConfigurationSection(@NotNull String path) {
+        return get(path) instanceof Map<?, ?>;
+    }
+
+    public @Nullable String getString(@NotNull String path) {
+        return getString(path, null);
+    }
+
+    public String getString(@NotNull String path, String def) {
+        Object value = get(path);
+        return value != null && !(value instanceof Map<?, ?>) ? value.toString() : def;
+    }
+
+    public int getInt(@NotNull String path, int def) {
+        return get(path) instanceof Number number ? number.intValue() : def;
+    }
+
+    public double getDouble(@NotNull String path, double def) {
+        return get(path) instanceof Number number ? number.doubleValue() : def;
+    }
+
+    public boolean getBoolean(@NotNull String path, boolean def) {
+        return get(path) instanceof Boolean bool ? bool : def;
+    }
+
+    public @Nullable List<?> getList(@NotNull String path) {
+        return get(path) instanceof List<?> list ? list : null;
+    }
+
+    /**
+     * @return a new mutable list, empty if there is no list at {@code path}
+     */
+    public @NotNull List<String> getStringList(@NotNull String path) {
+        List<?> list = getList(path);
+        if (list == null) return new ArrayList<>();
+
+        List<String> result = new ArrayList<>(list.size());
+        for (Object element : list) {
+            if (element instanceof String || element instanceof Number || element instanceof Boolean || element instanceof Character) {
+                result.add(element.toString());
+            }
+        }
+        return result;
+    }
+
+    public @NotNull List<Float> getFloatList(@NotNull String path) {
+        List<?> list = getList(path);
+        if (list == null) return new ArrayList<>();
+
+        List<Float> result = new ArrayList<>(list.size());
+        for (Object element : list) {
+            if (element instanceof Number number) {
+                result.add(number.floatValue());
+            } else if (element instanceof String string) {
+                try {
+                    result.add(Float.valueOf(string));
+                } catch (NumberFormatException ignored) {
+                }
+            }
+        }
+        return result;
+    }
+
+    public @NotNull List<Map<?, ?>> getMapList(@NotNull String path) {
+        List<?> list = getList(path);
+        if (list == null) return new ArrayList<>();
+
+        List<Map<?, ?>> result = new ArrayList<>(list.size());
+        for (Object element : list) {
+            if (element instanceof Map<?, ?> map) {
+                result.add(map);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> cast(Map<?, ?> map) {
+        // Every map below the root was normalized by FastYamlLoader
+        return (Map<String, Object>) map;
+    }
+}